@@ -0,0 +1,105 @@
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs several algorithms over the same workload at the same time, one
+// thread per algorithm, so comparing them takes as long as the slowest one
+// rather than the sum of all of them. The workload is one CompactWorkload
+// snapshot shared read-only by every run. Each run gets its own
+// SchedulingMonitor, so interrupting run() cancels all of them.
+class AlgorithmComparison {
+    private final LinkedHashMap<String, CompactSchedulingAlgorithm> algorithms = new LinkedHashMap<>();
+    private final AtomicInteger finishedRuns = new AtomicInteger();
+    
+    // FCFS, SJF and SRT, plus Round Robin for every quantum
+    public static AlgorithmComparison standard(int[] quanta) {
+        AlgorithmComparison comparison = new AlgorithmComparison()
+            .add("FCFS", new FCFS())
+            .add("SJF", new HeapSJF())
+            .add("SRT", new EventDrivenSRT());
+        for (int quantum : quanta) {
+            comparison.add("RR (q=" + quantum + ")", new RoundRobin(quantum));
+        }
+        return comparison;
+    }
+    
+    public AlgorithmComparison add(String name, CompactSchedulingAlgorithm algorithm) {
+        algorithms.put(name, algorithm);
+        return this;
+    }
+    
+    public Map<String, CompactSchedulingAlgorithm> getAlgorithms() {
+        return Collections.unmodifiableMap(algorithms);
+    }
+    
+    public int getAlgorithmCount() {
+        return algorithms.size();
+    }
+    
+    // Runs finished so far, e.g. for a progress label on another thread
+    public int getFinishedRuns() {
+        return finishedRuns.get();
+    }
+    
+    // Results come back in the order the algorithms were added. The workload
+    // must not be changed while this runs.
+    public List<Run> run(CompactWorkload workload) throws InterruptedException {
+        finishedRuns.set(0);
+        ArrayList<Callable<Run>> tasks = new ArrayList<>();
+        for (Map.Entry<String, CompactSchedulingAlgorithm> algorithm : algorithms.entrySet()) {
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                CompactSchedulingResult result = new SchedulingMonitor().run(
+                    () -> algorithm.getValue().schedule(workload));
+                long wallTime = System.nanoTime() - start;
+                finishedRuns.incrementAndGet();
+                return new Run(algorithm.getKey(), result, wallTime);
+            });
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, tasks.size()));
+        try {
+            ArrayList<Run> runs = new ArrayList<>(tasks.size());
+            for (Future<Run> future : executor.invokeAll(tasks)) {
+                try {
+                    runs.add(future.get());
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Comparison run failed", ex.getCause());
+                }
+            }
+            return runs;
+        } finally {
+            // Interrupts runs that are still going if this thread was interrupted
+            executor.shutdownNow();
+        }
+    }
+    
+    // One algorithm's result and how long it took
+    static class Run {
+        private final String name;
+        private final CompactSchedulingResult result;
+        private final long wallTimeNanos;
+        
+        Run(String name, CompactSchedulingResult result, long wallTimeNanos) {
+            this.name = name;
+            this.result = result;
+            this.wallTimeNanos = wallTimeNanos;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public CompactSchedulingResult getResult() {
+            return result;
+        }
+        
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+    }
+}
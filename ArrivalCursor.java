@@ -0,0 +1,46 @@
+import java.util.*;
+
+// Iterator over arrivals with one element of lookahead. Checks that the
+// arrivals really are sorted and hands out copies, so schedulers never modify
+// the caller's Process objects.
+class ArrivalCursor {
+    private Iterator<Process> arrivals;
+    private Process next;
+    private int lastArrivalTime = Integer.MIN_VALUE;
+    
+    public ArrivalCursor(Iterator<Process> arrivals) {
+        this.arrivals = arrivals;
+        advance();
+    }
+    
+    public boolean hasNext() {
+        return next != null;
+    }
+    
+    public Process peek() {
+        return next;
+    }
+    
+    public Process next() {
+        Process result = next;
+        advance();
+        return result;
+    }
+    
+    private void advance() {
+        if (!arrivals.hasNext()) {
+            next = null;
+            return;
+        }
+        next = arrivals.next().clone();
+        if (next.getArrivalTime() < lastArrivalTime) {
+            throw new IllegalArgumentException("Arrivals must be sorted by arrival time: " + next.getId()
+                                               + " arrives at " + next.getArrivalTime()
+                                               + " after an arrival at " + lastArrivalTime);
+        }
+        if (next.hasIoBursts()) {
+            throw new IllegalArgumentException("Streaming schedulers do not support I/O bursts: " + next.getId());
+        }
+        lastArrivalTime = next.getArrivalTime();
+    }
+}
@@ -0,0 +1,615 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.*;
+
+// Headless entry point, e.g.
+//   java CPUSchedulingSimulator --batch --algo=rr --quantum=4 --in=workload.csv --out=results.csv
+class BatchRunner {
+    private static final String USAGE =
+        "Usage: java CPUSchedulingSimulator --batch --algo=fcfs|sjf|srt|rr|mlfq|priority|priority-preemptive|cfs"
+        + " [--quantum=N] [--aging=N] [--fast-forward] --in=FILE [--out=FILE] [--trace=FILE] [--stats]\n"
+        + "       java CPUSchedulingSimulator --batch --algo=srt|rr [--quantum=N] --in=FILE --checkpoint=FILE"
+        + " [--checkpoint-interval=SECONDS] [--resume] [--out=FILE] [--trace=FILE]\n"
+        + "       java CPUSchedulingSimulator --batch --dump-trace=FILE [--from=T] [--to=T]\n"
+        + "       java CPUSchedulingSimulator --batch --sweep --quanta=Q1,Q2,... --in=FILE1,FILE2,... [--threads=N]"
+        + " [--out=FILE]\n"
+        + "       java CPUSchedulingSimulator --batch --compare --quanta=Q1,Q2,... --in=FILE [--stats]\n"
+        + "       java CPUSchedulingSimulator --batch --replicate --quanta=Q1,Q2,... [--processes=N] [--seed=N]"
+        + " [--arrivals=...] [--bursts=...] [--interarrival=T] [--mean-burst=T] [--precision=F]"
+        + " [--confidence=F] [--min-replications=N] [--max-replications=N] [--threads=N]\n"
+        + "       java CPUSchedulingSimulator --batch --algo=fcfs|sjf|srt|rr [--quantum=N] --cores=N"
+        + " [--queue=global|per-core] [--steal] --in=FILE [--out=FILE]\n"
+        + "       java CPUSchedulingSimulator --batch --generate=N [--seed=N] [--arrivals=poisson|bursty]"
+        + " [--bursts=uniform|exponential|pareto|bimodal] [--interarrival=T] [--mean-burst=T]"
+        + " [--cpu-bursts=N [--mean-io=T]] (--out=FILE | --algo=fcfs|rr [--quantum=N])";
+    
+    public static boolean isBatch(String[] args) {
+        return Arrays.asList(args).contains("--batch");
+    }
+    
+    public static int run(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        if (options != null && options.containsKey("stats")) {
+            // Must be set before any scheduler loads SchedulerStats
+            System.setProperty("scheduler.stats", "true");
+        }
+        if (options != null && options.containsKey("dump-trace")) {
+            return dumpTrace(options);
+        }
+        if (options != null && options.containsKey("sweep")) {
+            return sweep(options);
+        }
+        if (options != null && options.containsKey("compare")) {
+            return compare(options);
+        }
+        if (options != null && options.containsKey("replicate")) {
+            return replicate(options);
+        }
+        if (options != null && options.containsKey("generate")) {
+            return generate(options);
+        }
+        if (options == null || !options.containsKey("algo") || !options.containsKey("in")) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (options.containsKey("cores")) {
+            return runMultiCore(options);
+        }
+        
+        CompactSchedulingAlgorithm algorithm;
+        try {
+            algorithm = createAlgorithm(options.get("algo"), options.get("quantum"), options.get("aging"));
+            if (options.containsKey("fast-forward")) {
+                if (!(algorithm instanceof RoundRobin)) {
+                    throw new IllegalArgumentException("Only rr can fast-forward");
+                }
+                algorithm = new RoundRobin(parseQuantum(options.get("quantum")), true);
+            }
+            if (options.containsKey("checkpoint") && !(algorithm instanceof CheckpointableSchedulingAlgorithm)) {
+                throw new IllegalArgumentException("Only srt and rr can be checkpointed");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        try {
+            long start = System.nanoTime();
+            CompactWorkload workload = WorkloadFileReader.read(Paths.get(options.get("in")));
+            long parsed = System.nanoTime();
+            CompactSchedulingResult result = options.containsKey("checkpoint")
+                ? scheduleWithCheckpoints((CheckpointableSchedulingAlgorithm) algorithm, workload, options)
+                : algorithm.schedule(workload);
+            long scheduled = System.nanoTime();
+            if (options.containsKey("out")) {
+                ResultFileWriter.write(result, Paths.get(options.get("out")));
+            }
+            if (options.containsKey("trace")) {
+                GanttTraceWriter.write(result, Paths.get(options.get("trace")));
+            }
+            long written = System.nanoTime();
+            
+            DecimalFormat df = new DecimalFormat("#.##");
+            System.out.println("Processes: " + workload.size());
+            System.out.println("Gantt Chart Entries: " + result.getGanttChart().size());
+            System.out.println("Average Waiting Time: " + df.format(result.getAverageWaitingTime()));
+            System.out.println("Average Turnaround Time: " + df.format(result.getAverageTurnaroundTime()));
+            System.out.println(result.getMetrics().summary());
+            System.out.println("Read: " + (parsed - start) / 1_000_000 + " ms, Schedule: "
+                               + (scheduled - parsed) / 1_000_000 + " ms, Write: "
+                               + (written - scheduled) / 1_000_000 + " ms");
+            if (SchedulerStats.lastRun() != null) {
+                System.out.println(SchedulerStats.lastRun().summary());
+            }
+            return 0;
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            return 1;
+        }
+    }
+    
+    // Saves a checkpoint to --checkpoint every --checkpoint-interval seconds,
+    // and with --resume carries on from the checkpoint if there is one. The
+    // checkpoint is deleted once the run has finished.
+    static CompactSchedulingResult scheduleWithCheckpoints(CheckpointableSchedulingAlgorithm algorithm,
+                                                           CompactWorkload workload,
+                                                           Map<String, String> options) throws IOException {
+        Path path = Paths.get(options.get("checkpoint"));
+        long interval;
+        try {
+            interval = Long.parseLong(options.getOrDefault("checkpoint-interval", "60"));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Please enter a valid number of seconds for --checkpoint-interval");
+        }
+        
+        CompactSchedulingResult result;
+        Checkpointer checkpointer = new Checkpointer(path, interval * 1000);
+        try {
+            if (options.containsKey("resume") && Files.exists(path)) {
+                SchedulerCheckpoint checkpoint = SchedulerCheckpoint.read(path);
+                System.out.println("Resuming with " + checkpoint.getMetrics().getCompletedProcesses() + " of "
+                                   + workload.size() + " processes completed");
+                result = algorithm.resume(workload, checkpoint, checkpointer);
+            } else {
+                result = algorithm.schedule(workload, new CompactGanttChart(), checkpointer);
+            }
+        } finally {
+            // Lets the last write finish before the checkpoint is deleted
+            checkpointer.close();
+        }
+        if (checkpointer.getFailure() != null) {
+            System.err.println("Warning: saving a checkpoint failed: " + checkpointer.getFailure().getMessage());
+        }
+        SchedulerCheckpoint.delete(path);
+        return result;
+    }
+    
+    // Runs one algorithm over --cores simulated CPUs
+    static int runMultiCore(Map<String, String> options) {
+        MultiCoreScheduler scheduler;
+        try {
+            MultiCoreScheduler.Policy policy;
+            try {
+                policy = MultiCoreScheduler.Policy.valueOf(options.get("algo").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown algorithm: " + options.get("algo"));
+            }
+            int quantum = policy == MultiCoreScheduler.Policy.RR ? parseQuantum(options.get("quantum")) : 0;
+            int cores = Integer.parseInt(options.get("cores"));
+            String queue = options.getOrDefault("queue", "global");
+            MultiCoreScheduler.QueueMode queueMode;
+            if (queue.equals("global")) {
+                queueMode = MultiCoreScheduler.QueueMode.GLOBAL;
+            } else if (queue.equals("per-core")) {
+                queueMode = MultiCoreScheduler.QueueMode.PER_CORE;
+            } else {
+                throw new IllegalArgumentException("Unknown queue policy: " + queue);
+            }
+            scheduler = new MultiCoreScheduler(policy, quantum, cores, queueMode, options.containsKey("steal"));
+        } catch (NumberFormatException ex) {
+            System.err.println("Please enter a valid number for --cores");
+            return 2;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        try {
+            CompactWorkload workload = WorkloadFileReader.read(Paths.get(options.get("in")));
+            MultiCoreResult result = scheduler.schedule(workload.toProcesses());
+            if (options.containsKey("out")) {
+                ResultFileWriter.write(workload, result, Paths.get(options.get("out")));
+            }
+            
+            DecimalFormat df = new DecimalFormat("#.##");
+            System.out.println("Processes: " + workload.size());
+            System.out.println("Average Waiting Time: " + df.format(result.getAverageWaitingTime()));
+            System.out.println("Average Turnaround Time: " + df.format(result.getAverageTurnaroundTime()));
+            System.out.println(result.getMetrics().summary());
+            for (int c = 0; c < result.getCoreCount(); c++) {
+                System.out.println("Core " + c + ": " + result.getCoreGanttChart(c).size() + " entries, "
+                                   + df.format(result.getCoreUtilization(c) * 100) + "% utilization");
+            }
+            System.out.println("Load Imbalance: " + df.format(result.getLoadImbalance() * 100) + "%");
+            return 0;
+        } catch (IOException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            return 1;
+        }
+    }
+    
+    // Prints the segments of a binary Gantt trace that overlap [from, to)
+    static int dumpTrace(Map<String, String> options) {
+        long fromTime;
+        long toTime;
+        try {
+            fromTime = options.containsKey("from") ? Long.parseLong(options.get("from")) : 0;
+            toTime = options.containsKey("to") ? Long.parseLong(options.get("to")) : Long.MAX_VALUE;
+        } catch (NumberFormatException ex) {
+            System.err.println("Please enter valid numbers for --from and --to");
+            return 2;
+        }
+        
+        try (GanttTraceReader reader = new GanttTraceReader(Paths.get(options.get("dump-trace")))) {
+            StringBuilder line = new StringBuilder();
+            reader.forEachSegment(fromTime, toTime, (processIndex, startTime, endTime) -> {
+                line.setLength(0);
+                line.append(reader.getProcessId(processIndex))
+                    .append(" (")
+                    .append(startTime)
+                    .append("-")
+                    .append(endTime)
+                    .append(")");
+                System.out.println(line);
+            });
+            return 0;
+        } catch (IOException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            return 1;
+        }
+    }
+    
+    // Runs RoundRobin for every quantum in --quanta on every file in --in
+    static int sweep(Map<String, String> options) {
+        if (!options.containsKey("quanta") || !options.containsKey("in")) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        int[] quanta;
+        int threads;
+        try {
+            String[] quantumTexts = options.get("quanta").split(",");
+            quanta = new int[quantumTexts.length];
+            for (int i = 0; i < quanta.length; i++) {
+                quanta[i] = parseQuantum(quantumTexts[i].trim());
+            }
+            threads = options.containsKey("threads") ? Integer.parseInt(options.get("threads"))
+                                                      : Runtime.getRuntime().availableProcessors();
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Number of threads must be positive");
+            }
+        } catch (NumberFormatException ex) {
+            System.err.println("Please enter a valid number for --threads");
+            return 2;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            return 2;
+        }
+        
+        try {
+            Map<String, CompactWorkload> workloads = new LinkedHashMap<>();
+            for (String file : options.get("in").split(",")) {
+                workloads.put(file, WorkloadFileReader.read(Paths.get(file)));
+            }
+            
+            long start = System.nanoTime();
+            List<ParameterSweep.SweepResult> results = new ParameterSweep(threads).run(workloads, quanta);
+            long elapsed = System.nanoTime() - start;
+            
+            DecimalFormat df = new DecimalFormat("#.##");
+            System.out.println(String.format("%-30s %8s %12s %20s %24s %16s", "Workload", "Quantum", "Dispatches",
+                                             "Avg Waiting Time", "Avg Turnaround Time", "P99 Waiting"));
+            for (ParameterSweep.SweepResult result : results) {
+                System.out.println(String.format("%-30s %8d %12d %20s %24s %16d", result.getWorkloadName(),
+                                                 result.getQuantum(), result.getDispatches(),
+                                                 df.format(result.getAverageWaitingTime()),
+                                                 df.format(result.getAverageTurnaroundTime()),
+                                                 result.getP99WaitingTime()));
+            }
+            System.out.println(results.size() + " runs on " + threads + " threads in "
+                               + elapsed / 1_000_000 + " ms");
+            
+            if (options.containsKey("out")) {
+                try (ResultFileWriter writer = new ResultFileWriter(Paths.get(options.get("out")))) {
+                    writer.writeText("workload,quantum,processes,dispatches,average_waiting,average_turnaround,"
+                                     + "p99_waiting\n");
+                    for (ParameterSweep.SweepResult result : results) {
+                        writer.writeText(result.getWorkloadName() + "," + result.getQuantum() + ","
+                                         + result.getProcessCount() + "," + result.getDispatches() + ","
+                                         + result.getAverageWaitingTime() + ","
+                                         + result.getAverageTurnaroundTime() + ","
+                                         + result.getP99WaitingTime() + "\n");
+                    }
+                }
+            }
+            return 0;
+        } catch (IOException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            return 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            System.err.println("Sweep interrupted");
+            return 1;
+        }
+    }
+    
+    // Runs FCFS, SJF, SRT and Round Robin for every quantum in --quanta at the
+    // same time on the workload in --in
+    static int compare(Map<String, String> options) {
+        if (!options.containsKey("quanta") || !options.containsKey("in")) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        int[] quanta;
+        try {
+            String[] quantumTexts = options.get("quanta").split(",");
+            quanta = new int[quantumTexts.length];
+            for (int i = 0; i < quanta.length; i++) {
+                quanta[i] = parseQuantum(quantumTexts[i].trim());
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            return 2;
+        }
+        
+        try {
+            CompactWorkload workload = WorkloadFileReader.read(Paths.get(options.get("in")));
+            long start = System.nanoTime();
+            List<AlgorithmComparison.Run> runs = AlgorithmComparison.standard(quanta).run(workload);
+            long elapsed = System.nanoTime() - start;
+            
+            DecimalFormat df = new DecimalFormat("#.##");
+            System.out.println(String.format("%-12s %20s %24s %16s %20s %12s %14s", "Algorithm", "Avg Waiting Time",
+                                             "Avg Turnaround Time", "P99 Waiting", "Avg Response Time",
+                                             "Dispatches", "Wall Time (ms)"));
+            for (AlgorithmComparison.Run run : runs) {
+                LatencyMetrics metrics = run.getResult().getMetrics();
+                System.out.println(String.format("%-12s %20s %24s %16d %20s %12d %14s", run.getName(),
+                                                 df.format(metrics.getWaitingTimes().getMean()),
+                                                 df.format(metrics.getTurnaroundTimes().getMean()),
+                                                 metrics.getWaitingTimes().getValueAtPercentile(99),
+                                                 df.format(metrics.getResponseTimes().getMean()),
+                                                 run.getResult().getGanttChart().size(),
+                                                 df.format(run.getWallTimeNanos() / 1e6)));
+            }
+            System.out.println(runs.size() + " algorithms on " + runs.size() + " threads in "
+                               + elapsed / 1_000_000 + " ms");
+            if (SchedulerStats.ENABLED) {
+                for (SchedulerStats stats : SchedulerStats.totals().values()) {
+                    System.out.println(stats.summary());
+                }
+            }
+            return 0;
+        } catch (IOException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            return 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            System.err.println("Comparison interrupted");
+            return 1;
+        }
+    }
+    
+    // Generates a synthetic workload and either writes it to --out or streams
+    // it straight into --algo, so neither side holds the whole workload
+    static int generate(Map<String, String> options) {
+        if (options.containsKey("out") == options.containsKey("algo")) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        WorkloadGenerator generator;
+        StreamingSchedulingAlgorithm algorithm = null;
+        try {
+            WorkloadSpec spec = parseWorkloadSpec(options);
+            long count = Long.parseLong(options.get("generate"));
+            long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            generator = new WorkloadGenerator(spec, seed, count);
+            
+            if (options.containsKey("algo") && spec.getCpuBurstsPerProcess() > 1) {
+                throw new IllegalArgumentException("A generated stream with I/O bursts cannot be scheduled;"
+                                                   + " write it with --out and run it with --in");
+            }
+            if (options.containsKey("algo")) {
+                String name = options.get("algo");
+                if (name.equals("fcfs")) {
+                    algorithm = new FCFS();
+                } else if (name.equals("rr")) {
+                    algorithm = new RoundRobin(parseQuantum(options.get("quantum")));
+                } else {
+                    throw new IllegalArgumentException("Only fcfs and rr can schedule a generated stream");
+                }
+            }
+        } catch (NumberFormatException ex) {
+            System.err.println("Please enter valid numbers for --generate, --seed, --interarrival, --mean-burst,"
+                               + " --cpu-bursts and --mean-io");
+            return 2;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        long start = System.nanoTime();
+        if (algorithm == null) {
+            try {
+                generator.writeTo(Paths.get(options.get("out")));
+            } catch (IOException ex) {
+                System.err.println("Error: " + ex.getMessage());
+                return 1;
+            }
+            System.out.println("Generated " + options.get("generate") + " processes in "
+                               + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return 0;
+        }
+        
+        // Only the histograms are kept, so memory stays constant however many
+        // processes are generated
+        LatencyMetrics metrics = new LatencyMetrics();
+        algorithm.schedule(generator, new SchedulingSink() {
+            private final Map<String, Integer> firstRunTimes = new HashMap<>();
+            
+            @Override
+            public void ganttEntry(GanttChartEntry entry) {
+                firstRunTimes.putIfAbsent(entry.getProcessId(), entry.getStartTime());
+            }
+            
+            @Override
+            public void processCompleted(Process process, int waitingTime, int turnaroundTime) {
+                metrics.recordFirstRun(process.getArrivalTime(), firstRunTimes.remove(process.getId()));
+                metrics.recordCompletion(process.getArrivalTime(), process.getBurstTime(),
+                                         process.getArrivalTime() + turnaroundTime);
+            }
+        });
+        
+        DecimalFormat df = new DecimalFormat("#.##");
+        System.out.println("Processes: " + metrics.getCompletedProcesses());
+        System.out.println("Average Waiting Time: " + df.format(metrics.getWaitingTimes().getMean()));
+        System.out.println("Average Turnaround Time: " + df.format(metrics.getTurnaroundTimes().getMean()));
+        System.out.println(metrics.summary());
+        System.out.println("Schedule: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return 0;
+    }
+    
+    // Runs FCFS, SJF, SRT and Round Robin for every quantum in --quanta over
+    // generated workloads until their averages are known to within --precision
+    static int replicate(Map<String, String> options) {
+        if (!options.containsKey("quanta")) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        ReplicationRunner runner;
+        try {
+            String[] quantumTexts = options.get("quanta").split(",");
+            int[] quanta = new int[quantumTexts.length];
+            for (int i = 0; i < quanta.length; i++) {
+                quanta[i] = parseQuantum(quantumTexts[i].trim());
+            }
+            runner = new ReplicationRunner(parseWorkloadSpec(options),
+                                           Integer.parseInt(options.getOrDefault("processes", "1000")),
+                                           Long.parseLong(options.getOrDefault("seed", "42")))
+                .addAll(AlgorithmComparison.standard(quanta).getAlgorithms())
+                .setTargetRelativeHalfWidth(Double.parseDouble(options.getOrDefault("precision", "0.01")))
+                .setConfidence(Double.parseDouble(options.getOrDefault("confidence", "0.95")))
+                .setMinReplications(Integer.parseInt(options.getOrDefault("min-replications", "30")))
+                .setMaxReplications(Integer.parseInt(options.getOrDefault("max-replications", "10000")));
+            if (options.containsKey("threads")) {
+                runner.setParallelism(Integer.parseInt(options.get("threads")));
+            }
+        } catch (NumberFormatException ex) {
+            System.err.println("Please enter valid numbers for the replication options");
+            return 2;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        
+        try {
+            long start = System.nanoTime();
+            ReplicationRunner.Report report = runner.run();
+            long elapsed = System.nanoTime() - start;
+            
+            double confidence = report.getConfidence();
+            DecimalFormat df = new DecimalFormat("#.##");
+            System.out.println(String.format("%-12s %24s %24s %24s", "Algorithm", "Avg Waiting Time",
+                                             "Avg Turnaround Time", "Avg Response Time"));
+            for (ReplicationRunner.Estimate estimate : report.getEstimates()) {
+                System.out.println(String.format("%-12s %24s %24s %24s", estimate.getName(),
+                                                 formatInterval(estimate.getWaitingTime(), confidence, df),
+                                                 formatInterval(estimate.getTurnaroundTime(), confidence, df),
+                                                 formatInterval(estimate.getResponseTime(), confidence, df)));
+            }
+            System.out.println(report.getReplications() + " replications of " + options.getOrDefault("processes", "1000")
+                               + " processes on " + runner.getParallelism() + " threads in "
+                               + elapsed / 1_000_000 + " ms, " + df.format(confidence * 100) + "% intervals "
+                               + (report.isConverged() ? "within the target precision"
+                                                       : "not yet within the target precision"));
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            System.err.println("Replications interrupted");
+            return 1;
+        }
+    }
+    
+    private static String formatInterval(RunningStatistics statistics, double confidence, DecimalFormat df) {
+        return df.format(statistics.getMean()) + " +/- " + df.format(statistics.getHalfWidth(confidence));
+    }
+    
+    // Workload spec from --arrivals, --bursts, --interarrival, --mean-burst,
+    // --cpu-bursts and --mean-io
+    static WorkloadSpec parseWorkloadSpec(Map<String, String> options) {
+        WorkloadSpec spec = new WorkloadSpec()
+            .setArrivalPattern(WorkloadGenerator.ArrivalPattern.valueOf(
+                options.getOrDefault("arrivals", "poisson").toUpperCase(Locale.ROOT)))
+            .setBurstDistribution(WorkloadGenerator.BurstDistribution.valueOf(
+                options.getOrDefault("bursts", "exponential").toUpperCase(Locale.ROOT)));
+        if (options.containsKey("interarrival")) {
+            spec.setMeanInterArrivalTime(Double.parseDouble(options.get("interarrival")));
+        }
+        if (options.containsKey("mean-burst")) {
+            spec.setMeanBurstTime(Double.parseDouble(options.get("mean-burst")));
+        }
+        if (options.containsKey("cpu-bursts")) {
+            spec.setCpuBurstsPerProcess(Integer.parseInt(options.get("cpu-bursts")));
+        }
+        if (options.containsKey("mean-io")) {
+            spec.setMeanIoTime(Double.parseDouble(options.get("mean-io")));
+        }
+        return spec;
+    }
+    
+    // Parses --key=value options; returns null on anything unrecognised
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                return null;
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+    
+    static CompactSchedulingAlgorithm createAlgorithm(String name, String quantumText) {
+        return createAlgorithm(name, quantumText, null);
+    }
+    
+    static CompactSchedulingAlgorithm createAlgorithm(String name, String quantumText, String agingText) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "fcfs":
+                return new FCFS();
+            case "sjf":
+                return new SJF();
+            case "srt":
+                return new SRT();
+            case "rr":
+                return new RoundRobin(parseQuantum(quantumText));
+            case "mlfq":
+                return new MLFQ(parseQuantum(quantumText));
+            case "cfs":
+                return new CFS(parseQuantum(quantumText));
+            case "priority":
+                return new PriorityScheduling(false, parseAgingInterval(agingText));
+            case "priority-preemptive":
+                return new PriorityScheduling(true, parseAgingInterval(agingText));
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+    }
+    
+    static int parseQuantum(String quantumText) {
+        if (quantumText == null) {
+            throw new IllegalArgumentException("Round Robin, MLFQ and CFS need --quantum");
+        }
+        try {
+            int quantum = Integer.parseInt(quantumText);
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Time quantum must be positive");
+            }
+            return quantum;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Please enter a valid number for time quantum");
+        }
+    }
+    
+    // No --aging means no aging
+    static int parseAgingInterval(String agingText) {
+        if (agingText == null) {
+            return 0;
+        }
+        try {
+            int agingInterval = Integer.parseInt(agingText);
+            if (agingInterval < 0) {
+                throw new IllegalArgumentException("Aging interval cannot be negative");
+            }
+            return agingInterval;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Please enter a valid number for --aging");
+        }
+    }
+}
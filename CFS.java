@@ -0,0 +1,210 @@
+import java.util.*;
+
+// Completely Fair Scheduler (CFS) Algorithm
+// Modelled on the Linux scheduler. Every process has a virtual runtime that
+// grows with the time it runs, more slowly the higher its weight; the
+// weight comes from a nice value, which is the process's priority clamped
+// to -20..19. The runnable process with the smallest virtual runtime runs
+// next, for a slice of the target latency split in proportion to weight
+// (the latency grows when there are more runnable processes than
+// targetLatency / minGranularity). A new process starts at the smallest
+// virtual runtime in the queue. After an arrival the running process is
+// preempted if the leftmost waiting process, which need not be the new one,
+// is more than minGranularity, at that process's weight, behind it.
+// The queue is a heap keyed by (virtual runtime, position in arrival order),
+// and the loop only stops at arrivals, slice ends and completions.
+class CFS implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    // Weights for nice -20 to 19, as in the Linux kernel; nice 0 is 1024
+    private static final int[] NICE_TO_WEIGHT = {
+        88761, 71755, 56483, 46273, 36291,
+        29154, 23254, 18705, 14949, 11916,
+        9548, 7620, 6100, 4904, 3906,
+        3121, 2501, 1991, 1586, 1277,
+        1024, 820, 655, 526, 423,
+        335, 272, 215, 172, 137,
+        110, 87, 70, 56, 45,
+        36, 29, 23, 18, 15
+    };
+    private static final int NICE_0_WEIGHT = 1024;
+    
+    // Virtual runtime is kept in fixed point, 1 << VRUNTIME_SHIFT units per
+    // time unit at nice 0. Each weight's rate is rounded once, so a run
+    // gains the same virtual runtime however it is split into slices.
+    private static final int VRUNTIME_SHIFT = 16;
+    
+    private int targetLatency;
+    private int minGranularity;
+    
+    // Minimum granularity of an eighth of the target latency, the Linux default ratio
+    public CFS(int targetLatency) {
+        this(targetLatency, Math.max(1, targetLatency / 8));
+    }
+    
+    public CFS(int targetLatency, int minGranularity) {
+        if (targetLatency <= 0 || minGranularity <= 0) {
+            throw new IllegalArgumentException("Target latency and minimum granularity must be positive");
+        }
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+    }
+    
+    @Override
+    public String getConfiguration() {
+        return "CFS(targetLatency=" + targetLatency + ", minGranularity=" + minGranularity + ")";
+    }
+    
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        return schedule(CompactWorkload.fromProcesses(processes)).toSchedulingResult();
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        if (workload.hasIoBursts()) {
+            throw new IllegalArgumentException("CFS does not support I/O bursts");
+        }
+        
+        int[] order = workload.arrivalOrder();
+        int[] remainingTimes = new int[workload.size()];
+        int[] weights = new int[workload.size()];
+        long[] vruntimes = new long[workload.size()];
+        
+        CompactGanttChart ganttChart = new CompactGanttChart();
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        // Runnable processes other than the running one, by virtual runtime
+        KeyedIntMinHeap readyQueue = new KeyedIntMinHeap(16);
+        int runnableProcesses = 0;
+        long totalWeight = 0;
+        // Never decreases; new processes start here
+        long minVruntime = 0;
+        
+        long currentTime = 0;
+        int nextProcess = 0;
+        int completedProcesses = 0;
+        
+        // Position of the running process and the end of its slice
+        int running = -1;
+        long sliceEndTime = 0;
+        
+        // Gantt entry still being extended
+        int currentProcess = -1;
+        long currentProcessStartTime = 0;
+        long currentProcessEndTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        
+        while (completedProcesses < order.length) {
+            monitor.checkpoint(currentTime, completedProcesses);
+            
+            // Add newly arrived processes to the ready queue
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int process = order[nextProcess];
+                remainingTimes[process] = workload.getBurstTime(process);
+                weights[process] = weightOf(workload.getPriority(process));
+                vruntimes[process] = minVruntime;
+                readyQueue.add(minVruntime, nextProcess);
+                runnableProcesses++;
+                totalWeight += weights[process];
+                nextProcess++;
+            }
+            
+            if (running >= 0 && !readyQueue.isEmpty()) {
+                // Only reached after an arrival: preempt if the new leftmost
+                // process is far enough behind
+                int leftmost = order[readyQueue.peekValue()];
+                if (vruntimes[order[running]] - readyQueue.peekKey() > scaledRuntime(minGranularity, weights[leftmost])) {
+                    readyQueue.add(vruntimes[order[running]], running);
+                    running = -1;
+                }
+            }
+            
+            if (running < 0) {
+                if (readyQueue.isEmpty()) {
+                    // CPU is idle, jump straight to the next arrival
+                    currentTime = workload.getArrivalTime(order[nextProcess]);
+                    continue;
+                }
+                running = readyQueue.poll();
+                sliceEndTime = currentTime + sliceFor(weights[order[running]], runnableProcesses, totalWeight);
+            }
+            int process = order[running];
+            
+            // Run until the process completes, its slice ends or the next
+            // arrival, whichever is first
+            long endTime = Math.min(currentTime + remainingTimes[process], sliceEndTime);
+            if (nextProcess < order.length &&
+                workload.getArrivalTime(order[nextProcess]) < endTime) {
+                endTime = workload.getArrivalTime(order[nextProcess]);
+            }
+            
+            // Combine with the previous entry if the same process keeps the CPU
+            if (currentProcess == process && currentProcessEndTime == currentTime) {
+                currentProcessEndTime = endTime;
+            } else {
+                if (currentProcess >= 0) {
+                    ganttChart.add(currentProcess, currentProcessStartTime, currentProcessEndTime);
+                }
+                currentProcess = process;
+                currentProcessStartTime = currentTime;
+                currentProcessEndTime = endTime;
+            }
+            
+            if (remainingTimes[process] == workload.getBurstTime(process)) {
+                metrics.recordFirstRun(workload.getArrivalTime(process), currentTime);
+            }
+            stats.ran(process, currentTime, endTime, readyQueue.size());
+            remainingTimes[process] -= (int) (endTime - currentTime);
+            vruntimes[process] += scaledRuntime(endTime - currentTime, weights[process]);
+            currentTime = endTime;
+            
+            long smallestVruntime = vruntimes[process];
+            if (!readyQueue.isEmpty()) {
+                smallestVruntime = Math.min(smallestVruntime, readyQueue.peekKey());
+            }
+            minVruntime = Math.max(minVruntime, smallestVruntime);
+            
+            if (remainingTimes[process] == 0) {
+                turnaroundTimes[process] = currentTime - workload.getArrivalTime(process);
+                waitingTimes[process] = turnaroundTimes[process] - workload.getBurstTime(process);
+                metrics.recordCompletion(workload.getArrivalTime(process), workload.getBurstTime(process), currentTime);
+                stats.completed();
+                completedProcesses++;
+                runnableProcesses--;
+                totalWeight -= weights[process];
+                running = -1;
+            } else if (currentTime >= sliceEndTime) {
+                // Slice used up, back into the tree by its new virtual runtime
+                readyQueue.add(vruntimes[process], running);
+                running = -1;
+            }
+        }
+        
+        if (currentProcess >= 0) {
+            ganttChart.add(currentProcess, currentProcessStartTime, currentProcessEndTime);
+        }
+        
+        stats.addComparisons(readyQueue.getComparisons());
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    // Share of the scheduling period for a process of the given weight
+    private long sliceFor(int weight, int runnableProcesses, long totalWeight) {
+        long period = Math.max(targetLatency, (long) runnableProcesses * minGranularity);
+        return Math.max(1, period * weight / totalWeight);
+    }
+    
+    // Virtual runtime gained by running for the given time at the given weight
+    private static long scaledRuntime(long time, int weight) {
+        return time * (((long) NICE_0_WEIGHT << VRUNTIME_SHIFT) / weight);
+    }
+    
+    static int weightOf(int priority) {
+        int nice = Math.max(-20, Math.min(19, priority));
+        return NICE_TO_WEIGHT[nice + 20];
+    }
+}
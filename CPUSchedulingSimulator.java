@@ -1,6 +1,15 @@
 import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import javax.swing.*;
 
 public class CPUSchedulingSimulator extends JFrame {
@@ -8,20 +17,34 @@ public class CPUSchedulingSimulator extends JFrame {
     private JComboBox<String> algorithmComboBox;
     private JTextField processCountField;
     private JButton createProcessesButton;
-    private JPanel processInputPanel;
+    private JButton importButton;
+    private JTable processTable;
+    private ProcessTableModel processTableModel;
     private JPanel resultsPanel;
     private JTextField quantumField;
+    private JTextField agingField;
     private JButton calculateButton;
-    private JTextArea ganttChartArea;
-    private JTextArea waitingTimeArea;
-    private JTextArea turnaroundTimeArea;
+    private JButton compareButton;
+    private JTextField compareQuantaField;
+    private JButton cancelButton;
+    private JLabel progressLabel;
+    private SwingWorker<?, Void> schedulingWorker;
+    // Recalculating an unchanged table returns the earlier result
+    private ResultCache resultCache = new ResultCache(2_000_000);
+    // Recalculating after an edit resumes the last SRT or Round Robin run
+    // from before the edit
+    private IncrementalScheduler incrementalScheduler;
+    private GanttChartPanel ganttChartPanel;
+    private ResultTableModel resultTableModel;
+    private ComparisonTableModel comparisonTableModel;
+    private JTable comparisonTable;
+    private ArrayList<Process> comparedProcesses;
     private JTextArea averagesArea;
-    private ArrayList<ProcessRow> processRows;
     private DecimalFormat df = new DecimalFormat("#.##");
 
     public CPUSchedulingSimulator() {
         setTitle("CPU Scheduling Simulator");
-        setSize(800, 600);
+        setSize(800, 820);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         
         mainPanel = new JPanel();
@@ -34,27 +57,48 @@ public class CPUSchedulingSimulator extends JFrame {
             "First-Come, First-Served (FCFS)",
             "Shortest-Job-First (SJF)",
             "Shortest-Remaining-Time (SRT)",
-            "Round Robin (RR)"
+            "Round Robin (RR)",
+            "Multilevel Feedback Queue (MLFQ)",
+            "Priority (Non-preemptive)",
+            "Priority (Preemptive)",
+            "Completely Fair Scheduler (CFS)"
         });
         topPanel.add(algorithmComboBox);
         
+        agingField = new JTextField(5);
+        topPanel.add(new JLabel("Aging Interval (for Priority, blank for none):"));
+        topPanel.add(agingField);
+        
         JPanel processPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         processPanel.add(new JLabel("Number of Processes:"));
         processCountField = new JTextField(5);
         processPanel.add(processCountField);
         createProcessesButton = new JButton("Create Process Inputs");
         processPanel.add(createProcessesButton);
+        importButton = new JButton("Import...");
+        processPanel.add(importButton);
         
         quantumField = new JTextField(5);
-        processPanel.add(new JLabel("Time Quantum (for RR):"));
+        processPanel.add(new JLabel("Time Quantum (RR, MLFQ base, CFS target latency):"));
         processPanel.add(quantumField);
         
         mainPanel.add(topPanel);
         mainPanel.add(processPanel);
         
-        processInputPanel = new JPanel();
-        processInputPanel.setLayout(new BoxLayout(processInputPanel, BoxLayout.Y_AXIS));
-        JScrollPane processScrollPane = new JScrollPane(processInputPanel);
+        // Only the visible rows are rendered, however many processes there are
+        processTableModel = new ProcessTableModel();
+        processTable = new JTable(processTableModel);
+        processTable.setFillsViewportHeight(true);
+        processTable.getInputMap(JComponent.WHEN_FOCUSED).put(
+            KeyStroke.getKeyStroke(KeyEvent.VK_V, Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx()),
+            "pasteProcesses");
+        processTable.getActionMap().put("pasteProcesses", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                pasteProcesses();
+            }
+        });
+        JScrollPane processScrollPane = new JScrollPane(processTable);
         processScrollPane.setPreferredSize(new Dimension(750, 200));
         mainPanel.add(processScrollPane);
         
@@ -62,54 +106,73 @@ public class CPUSchedulingSimulator extends JFrame {
         calculateButton.setEnabled(false);
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         buttonPanel.add(calculateButton);
+        compareButton = new JButton("Compare All");
+        compareButton.setEnabled(false);
+        buttonPanel.add(compareButton);
+        buttonPanel.add(new JLabel("RR quanta:"));
+        compareQuantaField = new JTextField("2,4,8", 6);
+        buttonPanel.add(compareQuantaField);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        buttonPanel.add(cancelButton);
+        progressLabel = new JLabel(" ");
+        buttonPanel.add(progressLabel);
         mainPanel.add(buttonPanel);
         
         resultsPanel = new JPanel();
         resultsPanel.setLayout(new BoxLayout(resultsPanel, BoxLayout.Y_AXIS));
         
-        ganttChartArea = new JTextArea(3, 40);
-        ganttChartArea.setEditable(false);
-        JScrollPane ganttScrollPane = new JScrollPane(ganttChartArea);
-        ganttScrollPane.setBorder(BorderFactory.createTitledBorder("Gantt Chart"));
-        
-        waitingTimeArea = new JTextArea(3, 40);
-        waitingTimeArea.setEditable(false);
-        JScrollPane waitingScrollPane = new JScrollPane(waitingTimeArea);
-        waitingScrollPane.setBorder(BorderFactory.createTitledBorder("Waiting Times"));
+        // Zoom with the mouse wheel, drag to pan, double-click to fit
+        ganttChartPanel = new GanttChartPanel();
+        JPanel ganttPanel = new JPanel(new BorderLayout());
+        ganttPanel.add(ganttChartPanel);
+        ganttPanel.setBorder(BorderFactory.createTitledBorder("Gantt Chart"));
         
-        turnaroundTimeArea = new JTextArea(3, 40);
-        turnaroundTimeArea.setEditable(false);
-        JScrollPane turnaroundScrollPane = new JScrollPane(turnaroundTimeArea);
-        turnaroundScrollPane.setBorder(BorderFactory.createTitledBorder("Turnaround Times"));
+        resultTableModel = new ResultTableModel();
+        JTable resultTable = new JTable(resultTableModel);
+        resultTable.setFillsViewportHeight(true);
+        JScrollPane timesScrollPane = new JScrollPane(resultTable);
+        timesScrollPane.setPreferredSize(new Dimension(750, 120));
+        timesScrollPane.setBorder(BorderFactory.createTitledBorder("Waiting and Turnaround Times"));
         
-        averagesArea = new JTextArea(2, 40);
+        averagesArea = new JTextArea(6, 40);
         averagesArea.setEditable(false);
         JScrollPane averagesScrollPane = new JScrollPane(averagesArea);
-        averagesScrollPane.setBorder(BorderFactory.createTitledBorder("Averages"));
-        
-        resultsPanel.add(ganttScrollPane);
-        resultsPanel.add(waitingScrollPane);
-        resultsPanel.add(turnaroundScrollPane);
+        averagesScrollPane.setBorder(BorderFactory.createTitledBorder("Averages and Percentiles"));
+        
+        // Selecting a row shows that algorithm's chart and times above
+        comparisonTableModel = new ComparisonTableModel();
+        comparisonTable = new JTable(comparisonTableModel);
+        comparisonTable.setFillsViewportHeight(true);
+        comparisonTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JScrollPane comparisonScrollPane = new JScrollPane(comparisonTable);
+        comparisonScrollPane.setPreferredSize(new Dimension(750, 120));
+        comparisonScrollPane.setBorder(BorderFactory.createTitledBorder("Algorithm Comparison"));
+        
+        resultsPanel.add(ganttPanel);
+        resultsPanel.add(timesScrollPane);
         resultsPanel.add(averagesScrollPane);
-        
-        JScrollPane resultsScrollPane = new JScrollPane(resultsPanel);
-        resultsScrollPane.setPreferredSize(new Dimension(750, 250));
-        mainPanel.add(resultsScrollPane);
+        resultsPanel.add(comparisonScrollPane);
+        mainPanel.add(resultsPanel);
         
         add(mainPanel);
         
         setupEventListeners();
-        
-        processRows = new ArrayList<>();
     }
     
     private void setupEventListeners() {
         algorithmComboBox.addActionListener(e -> {
-            boolean isRR = algorithmComboBox.getSelectedIndex() == 3;
-            quantumField.setEnabled(isRR);
-            if (!isRR) {
+            int index = algorithmComboBox.getSelectedIndex();
+            boolean usesQuantum = index == 3 || index == 4 || index == 7;
+            quantumField.setEnabled(usesQuantum);
+            if (!usesQuantum) {
                 quantumField.setText("");
             }
+            boolean usesAging = index == 5 || index == 6;
+            agingField.setEnabled(usesAging);
+            if (!usesAging) {
+                agingField.setText("");
+            }
         });
         
         createProcessesButton.addActionListener(e -> {
@@ -120,44 +183,38 @@ public class CPUSchedulingSimulator extends JFrame {
                     return;
                 }
                 
-                processInputPanel.removeAll();
-                processRows.clear();
-                
-                JPanel headerPanel = new JPanel(new GridLayout(1, 3));
-                headerPanel.add(new JLabel("Process ID"));
-                headerPanel.add(new JLabel("Arrival Time"));
-                headerPanel.add(new JLabel("Burst Time"));
-                processInputPanel.add(headerPanel);
-                
-                for (int i = 1; i <= processCount; i++) {
-                    ProcessRow row = new ProcessRow("P" + i);
-                    processRows.add(row);
-                    processInputPanel.add(row.getPanel());
-                }
-                
+                stopEditing();
+                processTableModel.reset(processCount);
                 calculateButton.setEnabled(true);
-                processInputPanel.revalidate();
-                processInputPanel.repaint();
+                compareButton.setEnabled(true);
                 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Please enter a valid number for process count", "Error", JOptionPane.ERROR_MESSAGE);
             }
         });
         
+        importButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            try {
+                CompactWorkload workload = WorkloadFileReader.read(chooser.getSelectedFile().toPath());
+                stopEditing();
+                processTableModel.setWorkload(workload);
+                processCountField.setText(String.valueOf(workload.size()));
+                calculateButton.setEnabled(workload.size() > 0);
+                compareButton.setEnabled(workload.size() > 0);
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(this, "Could not import workload: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        
         calculateButton.addActionListener(e -> {
             try {
-                ArrayList<Process> processes = new ArrayList<>();
-                for (ProcessRow row : processRows) {
-                    int arrivalTime = Integer.parseInt(row.getArrivalTime());
-                    int burstTime = Integer.parseInt(row.getBurstTime());
-                    
-                    if (arrivalTime < 0 || burstTime <= 0) {
-                        JOptionPane.showMessageDialog(this, "Arrival time must be non-negative and burst time must be positive", "Error", JOptionPane.ERROR_MESSAGE);
-                        return;
-                    }
-                    
-                    processes.add(new Process(row.getProcessId(), arrivalTime, burstTime));
-                }
+                stopEditing();
+                processTableModel.validate();
+                ArrayList<Process> processes = processTableModel.toProcesses();
                 
                 int algorithmIndex = algorithmComboBox.getSelectedIndex();
                 SchedulingAlgorithm algorithm = null;
@@ -167,608 +224,246 @@ public class CPUSchedulingSimulator extends JFrame {
                         algorithm = new FCFS();
                         break;
                     case 1:
-                        algorithm = new SJF();
+                        algorithm = new HeapSJF();
                         break;
                     case 2:
-                        algorithm = new SRT();
+                        algorithm = new EventDrivenSRT();
                         break;
                     case 3:
+                    case 4:
+                    case 7:
                         try {
                             int quantum = Integer.parseInt(quantumField.getText());
                             if (quantum <= 0) {
                                 JOptionPane.showMessageDialog(this, "Time quantum must be positive", "Error", JOptionPane.ERROR_MESSAGE);
                                 return;
                             }
-                            algorithm = new RoundRobin(quantum);
+                            if (algorithmIndex == 3) {
+                                algorithm = new RoundRobin(quantum);
+                            } else if (algorithmIndex == 4) {
+                                algorithm = new MLFQ(quantum);
+                            } else {
+                                algorithm = new CFS(quantum);
+                            }
                         } catch (NumberFormatException ex) {
                             JOptionPane.showMessageDialog(this, "Please enter a valid number for time quantum", "Error", JOptionPane.ERROR_MESSAGE);
                             return;
                         }
                         break;
+                    case 5:
+                    case 6:
+                        try {
+                            String agingText = agingField.getText().trim();
+                            int agingInterval = agingText.isEmpty() ? 0 : Integer.parseInt(agingText);
+                            if (agingInterval < 0) {
+                                JOptionPane.showMessageDialog(this, "Aging interval cannot be negative", "Error", JOptionPane.ERROR_MESSAGE);
+                                return;
+                            }
+                            algorithm = new PriorityScheduling(algorithmIndex == 6, agingInterval);
+                        } catch (NumberFormatException ex) {
+                            JOptionPane.showMessageDialog(this, "Please enter a valid number for aging interval", "Error", JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
+                        break;
                 }
                 
-                SchedulingResult result = algorithm.schedule(processes);
-                displayResults(result);
+                if (algorithm instanceof CheckpointableSchedulingAlgorithm) {
+                    if (incrementalScheduler == null
+                        || !incrementalScheduler.getConfiguration().equals(algorithm.getConfiguration())) {
+                        incrementalScheduler = new IncrementalScheduler((CheckpointableSchedulingAlgorithm) algorithm);
+                    }
+                    algorithm = incrementalScheduler;
+                }
+                startScheduling(algorithm, processes);
                 
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Please enter valid numbers for arrival and burst times", "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
         });
-    }
-    
-    private void displayResults(SchedulingResult result) {
-        // Gantt Chart
-        StringBuilder ganttChart = new StringBuilder("Gantt Chart: ");
-        for (GanttChartEntry entry : result.getGanttChart()) {
-            ganttChart.append(entry.getProcessId())
-                     .append(" (")
-                     .append(entry.getStartTime())
-                     .append("-")
-                     .append(entry.getEndTime())
-                     .append(") → ");
-        }
-        if (ganttChart.length() > 12) {
-            ganttChart.setLength(ganttChart.length() - 2); // Remove last arrow
-        }
-        ganttChartArea.setText(ganttChart.toString());
         
-        // Waiting Times
-        StringBuilder waitingTimes = new StringBuilder("Waiting Times: ");
-        for (Map.Entry<String, Integer> entry : result.getWaitingTimes().entrySet()) {
-            waitingTimes.append(entry.getKey())
-                       .append(" = ")
-                       .append(entry.getValue())
-                       .append(", ");
-        }
-        if (waitingTimes.length() > 15) {
-            waitingTimes.setLength(waitingTimes.length() - 2); // Remove last comma
-        }
-        waitingTimeArea.setText(waitingTimes.toString());
+        compareButton.addActionListener(e -> {
+            try {
+                stopEditing();
+                processTableModel.validate();
+                String[] quantumTexts = compareQuantaField.getText().split(",");
+                int[] quanta = new int[quantumTexts.length];
+                for (int i = 0; i < quanta.length; i++) {
+                    quanta[i] = BatchRunner.parseQuantum(quantumTexts[i].trim());
+                }
+                startComparison(AlgorithmComparison.standard(quanta), processTableModel.toProcesses());
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
         
-        // Turnaround Times
-        StringBuilder turnaroundTimes = new StringBuilder("Turnaround Times: ");
-        for (Map.Entry<String, Integer> entry : result.getTurnaroundTimes().entrySet()) {
-            turnaroundTimes.append(entry.getKey())
-                          .append(" = ")
-                          .append(entry.getValue())
-                          .append(", ");
-        }
-        if (turnaroundTimes.length() > 18) {
-            turnaroundTimes.setLength(turnaroundTimes.length() - 2); // Remove last comma
-        }
-        turnaroundTimeArea.setText(turnaroundTimes.toString());
+        comparisonTable.getSelectionModel().addListSelectionListener(e -> {
+            int row = comparisonTable.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row >= 0) {
+                AlgorithmComparison.Run run = comparisonTableModel.getRun(row);
+                displayResults(run.getResult().toSchedulingResult(), comparedProcesses);
+            }
+        });
         
-        // Averages
-        StringBuilder averages = new StringBuilder();
-        averages.append("Average Waiting Time: ")
-                .append(df.format(result.getAverageWaitingTime()))
-                .append("\n")
-                .append("Average Turnaround Time: ")
-                .append(df.format(result.getAverageTurnaroundTime()));
-        averagesArea.setText(averages.toString());
-    }
-    
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            CPUSchedulingSimulator simulator = new CPUSchedulingSimulator();
-            simulator.setVisible(true);
+        cancelButton.addActionListener(e -> {
+            if (schedulingWorker != null) {
+                // Interrupts the worker, the algorithm stops at its next checkpoint
+                schedulingWorker.cancel(true);
+            }
         });
     }
     
-    // Inner class for process input rows
-    private class ProcessRow {
-        private JPanel panel;
-        private JLabel processIdLabel;
-        private JTextField arrivalTimeField;
-        private JTextField burstTimeField;
-        
-        public ProcessRow(String processId) {
-            panel = new JPanel(new GridLayout(1, 3));
-            processIdLabel = new JLabel(processId);
-            arrivalTimeField = new JTextField(5);
-            burstTimeField = new JTextField(5);
-            
-            panel.add(processIdLabel);
-            panel.add(arrivalTimeField);
-            panel.add(burstTimeField);
-        }
-        
-        public JPanel getPanel() {
-            return panel;
-        }
-        
-        public String getProcessId() {
-            return processIdLabel.getText();
-        }
-        
-        public String getArrivalTime() {
-            return arrivalTimeField.getText();
+    // Pastes id, arrival, burst and optional priority columns (e.g. copied from a spreadsheet)
+    // over the table, starting at the selected row
+    private void pasteProcesses() {
+        try {
+            String text = (String) Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+            CompactWorkload workload = WorkloadFileReader.parse(
+                ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1)));
+            stopEditing();
+            int firstRow = Math.max(0, processTable.getSelectedRow());
+            processTableModel.paste(workload, firstRow);
+            processCountField.setText(String.valueOf(processTableModel.getRowCount()));
+            calculateButton.setEnabled(processTableModel.getRowCount() > 0);
+            compareButton.setEnabled(processTableModel.getRowCount() > 0);
+        } catch (UnsupportedFlavorException | IOException | IllegalStateException ex) {
+            JOptionPane.showMessageDialog(this, "Could not paste processes: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
-        
-        public String getBurstTime() {
-            return burstTimeField.getText();
-        }
-    }
-}
-
-// Process class
-class Process {
-    private String id;
-    private int arrivalTime;
-    private int burstTime;
-    private int remainingTime;
-    
-    public Process(String id, int arrivalTime, int burstTime) {
-        this.id = id;
-        this.arrivalTime = arrivalTime;
-        this.burstTime = burstTime;
-        this.remainingTime = burstTime;
-    }
-    
-    public String getId() {
-        return id;
-    }
-    
-    public int getArrivalTime() {
-        return arrivalTime;
-    }
-    
-    public int getBurstTime() {
-        return burstTime;
-    }
-    
-    public int getRemainingTime() {
-        return remainingTime;
     }
     
-    public void decreaseRemainingTime(int time) {
-        this.remainingTime -= time;
-        if (remainingTime < 0) {
-            remainingTime = 0;
+    // Commits a cell that is still being edited
+    private void stopEditing() {
+        if (processTable.isEditing()) {
+            processTable.getCellEditor().stopCellEditing();
         }
     }
     
-    public Process clone() {
-        Process clone = new Process(id, arrivalTime, burstTime);
-        clone.remainingTime = this.remainingTime;
-        return clone;
-    }
-}
-
-// GanttChartEntry class
-class GanttChartEntry {
-    private String processId;
-    private int startTime;
-    private int endTime;
-    
-    public GanttChartEntry(String processId, int startTime, int endTime) {
-        this.processId = processId;
-        this.startTime = startTime;
-        this.endTime = endTime;
-    }
-    
-    public String getProcessId() {
-        return processId;
-    }
-    
-    public int getStartTime() {
-        return startTime;
-    }
-    
-    public int getEndTime() {
-        return endTime;
-    }
-}
-
-// SchedulingResult class
-class SchedulingResult {
-    private ArrayList<GanttChartEntry> ganttChart;
-    private Map<String, Integer> waitingTimes;
-    private Map<String, Integer> turnaroundTimes;
-    private double averageWaitingTime;
-    private double averageTurnaroundTime;
-    
-    public SchedulingResult(ArrayList<GanttChartEntry> ganttChart, Map<String, Integer> waitingTimes, 
-                          Map<String, Integer> turnaroundTimes, double averageWaitingTime, 
-                          double averageTurnaroundTime) {
-        this.ganttChart = ganttChart;
-        this.waitingTimes = waitingTimes;
-        this.turnaroundTimes = turnaroundTimes;
-        this.averageWaitingTime = averageWaitingTime;
-        this.averageTurnaroundTime = averageTurnaroundTime;
-    }
-    
-    public ArrayList<GanttChartEntry> getGanttChart() {
-        return ganttChart;
-    }
-    
-    public Map<String, Integer> getWaitingTimes() {
-        return waitingTimes;
-    }
-    
-    public Map<String, Integer> getTurnaroundTimes() {
-        return turnaroundTimes;
-    }
-    
-    public double getAverageWaitingTime() {
-        return averageWaitingTime;
-    }
-    
-    public double getAverageTurnaroundTime() {
-        return averageTurnaroundTime;
-    }
-}
-
-// Interface for scheduling algorithms
-interface SchedulingAlgorithm {
-    SchedulingResult schedule(ArrayList<Process> processes);
-}
-
-// FCFS Algorithm
-class FCFS implements SchedulingAlgorithm {
-    @Override
-    public SchedulingResult schedule(ArrayList<Process> processes) {
-        // Create copies of processes to avoid modifying the original list
-        ArrayList<Process> processList = new ArrayList<>();
-        for (Process p : processes) {
-            processList.add(p.clone());
-        }
-        
-        // Sort processes by arrival time
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-        
-        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
-        Map<String, Integer> waitingTimes = new HashMap<>();
-        Map<String, Integer> turnaroundTimes = new HashMap<>();
-        
-        int currentTime = 0;
-        
-        for (Process process : processList) {
-            // If currentTime is less than arrival time, update it
-            if (currentTime < process.getArrivalTime()) {
-                currentTime = process.getArrivalTime();
-            }
-            
-            int startTime = currentTime;
-            int endTime = startTime + process.getBurstTime();
-            
-            // Calculate waiting time (current time - arrival time)
-            int waitingTime = startTime - process.getArrivalTime();
-            waitingTimes.put(process.getId(), waitingTime);
-            
-            // Calculate turnaround time (completion time - arrival time)
-            int turnaroundTime = endTime - process.getArrivalTime();
-            turnaroundTimes.put(process.getId(), turnaroundTime);
-            
-            // Add to gantt chart
-            ganttChart.add(new GanttChartEntry(process.getId(), startTime, endTime));
-            
-            // Update current time
-            currentTime = endTime;
-        }
-        
-        // Calculate averages
-        double totalWaitingTime = 0;
-        double totalTurnaroundTime = 0;
-        for (String processId : waitingTimes.keySet()) {
-            totalWaitingTime += waitingTimes.get(processId);
-            totalTurnaroundTime += turnaroundTimes.get(processId);
-        }
-        
-        double avgWaitingTime = totalWaitingTime / waitingTimes.size();
-        double avgTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
-        
-        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, avgWaitingTime, avgTurnaroundTime);
-    }
-}
-
-// SJF Algorithm (Non-preemptive)
-class SJF implements SchedulingAlgorithm {
-    @Override
-    public SchedulingResult schedule(ArrayList<Process> processes) {
-        // Create copies of processes
-        ArrayList<Process> processList = new ArrayList<>();
-        for (Process p : processes) {
-            processList.add(p.clone());
-        }
-        
-        // Sort by arrival time initially
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-        
-        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
-        Map<String, Integer> waitingTimes = new HashMap<>();
-        Map<String, Integer> turnaroundTimes = new HashMap<>();
-        
-        int currentTime = 0;
-        ArrayList<Process> arrivedProcesses = new ArrayList<>();
-        int remainingProcesses = processList.size();
-        
-        while (remainingProcesses > 0) {
-            // Add newly arrived processes to the queue
-            Iterator<Process> iterator = processList.iterator();
-            while (iterator.hasNext()) {
-                Process process = iterator.next();
-                if (process.getArrivalTime() <= currentTime) {
-                    arrivedProcesses.add(process);
-                    iterator.remove();
-                }
+    // Runs the algorithm on a background thread so the window stays responsive.
+    // A timer polls the run's monitor for progress while it is going.
+    private void startScheduling(SchedulingAlgorithm algorithm, ArrayList<Process> processes) {
+        SchedulingMonitor monitor = new SchedulingMonitor();
+        int processCount = processes.size();
+        
+        javax.swing.Timer progressTimer = new javax.swing.Timer(100, e ->
+            progressLabel.setText("Simulated time: " + monitor.getSimulatedTime() + ", completed: "
+                                  + monitor.getCompletedProcesses() + " of " + processCount));
+        
+        schedulingWorker = new SwingWorker<SchedulingResult, Void>() {
+            @Override
+            protected SchedulingResult doInBackground() {
+                return monitor.run(() -> resultCache.schedule(algorithm, processes));
             }
             
-            if (arrivedProcesses.isEmpty()) {
-                // No process has arrived yet, move time to next arrival
-                if (!processList.isEmpty()) {
-                    currentTime = processList.get(0).getArrivalTime();
-                    continue;
+            @Override
+            protected void done() {
+                progressTimer.stop();
+                setRunning(false);
+                try {
+                    SchedulingResult result = get();
+                    progressLabel.setText(resultCache.summary());
+                    displayResults(result, processes);
+                } catch (CancellationException ex) {
+                    progressLabel.setText("Cancelled");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    progressLabel.setText(" ");
+                    JOptionPane.showMessageDialog(CPUSchedulingSimulator.this, "Scheduling failed: " + ex.getCause(), "Error", JOptionPane.ERROR_MESSAGE);
                 }
-                break;
             }
-            
-            // Find shortest job
-            arrivedProcesses.sort(Comparator.comparingInt(Process::getBurstTime));
-            Process shortestJob = arrivedProcesses.remove(0);
-            
-            int startTime = currentTime;
-            int endTime = startTime + shortestJob.getBurstTime();
-            
-            // Calculate waiting time
-            int waitingTime = startTime - shortestJob.getArrivalTime();
-            waitingTimes.put(shortestJob.getId(), waitingTime);
-            
-            // Calculate turnaround time
-            int turnaroundTime = endTime - shortestJob.getArrivalTime();
-            turnaroundTimes.put(shortestJob.getId(), turnaroundTime);
-            
-            // Add to gantt chart
-            ganttChart.add(new GanttChartEntry(shortestJob.getId(), startTime, endTime));
-            
-            // Update current time
-            currentTime = endTime;
-            remainingProcesses--;
-        }
-        
-        // Calculate averages
-        double totalWaitingTime = 0;
-        double totalTurnaroundTime = 0;
-        for (String processId : waitingTimes.keySet()) {
-            totalWaitingTime += waitingTimes.get(processId);
-            totalTurnaroundTime += turnaroundTimes.get(processId);
-        }
-        
-        double avgWaitingTime = totalWaitingTime / waitingTimes.size();
-        double avgTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
+        };
         
-        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, avgWaitingTime, avgTurnaroundTime);
+        setRunning(true);
+        progressLabel.setText("Scheduling...");
+        progressTimer.start();
+        schedulingWorker.execute();
     }
-}
-
-// SRT Algorithm (Preemptive SJF)
-class SRT implements SchedulingAlgorithm {
-    @Override
-    public SchedulingResult schedule(ArrayList<Process> processes) {
-        // Create copies of processes
-        ArrayList<Process> processList = new ArrayList<>();
-        for (Process p : processes) {
-            processList.add(p.clone());
-        }
-        
-        // Sort by arrival time
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-        
-        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
-        Map<String, Integer> waitingTimes = new HashMap<>();
-        Map<String, Integer> turnaroundTimes = new HashMap<>();
-        Map<String, Integer> completionTimes = new HashMap<>();
-        
-        int currentTime = 0;
-        int remainingProcesses = processList.size();
-        
-        // Tracks execution times for each process
-        Map<String, Integer> executionTimes = new HashMap<>();
-        for (Process p : processes) {
-            executionTimes.put(p.getId(), 0);
-        }
+    
+    // Runs FCFS, SJF, SRT and Round Robin for every quantum on a thread each,
+    // over one compact snapshot of the table, and lists them side by side
+    private void startComparison(AlgorithmComparison comparison, ArrayList<Process> processes) {
+        CompactWorkload snapshot = CompactWorkload.fromProcesses(processes);
         
-        String currentProcessId = null;
-        int currentProcessStartTime = 0;
+        javax.swing.Timer progressTimer = new javax.swing.Timer(100, e ->
+            progressLabel.setText("Finished " + comparison.getFinishedRuns() + " of "
+                                  + comparison.getAlgorithmCount() + " algorithms"));
         
-        while (remainingProcesses > 0) {
-            // Find the process with shortest remaining time
-            Process shortestProcess = null;
-            int shortestRemainingTime = Integer.MAX_VALUE;
+        schedulingWorker = new SwingWorker<java.util.List<AlgorithmComparison.Run>, Void>() {
+            private volatile long totalWallTime;
             
-            // Check if any new processes arrived
-            for (Process process : processList) {
-                if (process.getArrivalTime() <= currentTime && process.getRemainingTime() > 0) {
-                    if (process.getRemainingTime() < shortestRemainingTime) {
-                        shortestProcess = process;
-                        shortestRemainingTime = process.getRemainingTime();
-                    }
-                }
-            }
-            
-            // If no process is available, move time forward
-            if (shortestProcess == null) {
-                currentTime++;
-                continue;
-            }
-            
-            // Process context switch - add to Gantt chart if there's a change
-            if (currentProcessId == null || !currentProcessId.equals(shortestProcess.getId())) {
-                if (currentProcessId != null) {
-                    ganttChart.add(new GanttChartEntry(currentProcessId, currentProcessStartTime, currentTime));
-                }
-                currentProcessId = shortestProcess.getId();
-                currentProcessStartTime = currentTime;
-            }
-            
-            // Execute process for 1 time unit
-            shortestProcess.decreaseRemainingTime(1);
-            executionTimes.put(shortestProcess.getId(), executionTimes.get(shortestProcess.getId()) + 1);
-            currentTime++;
-            
-            // If process is complete
-            if (shortestProcess.getRemainingTime() == 0) {
-                completionTimes.put(shortestProcess.getId(), currentTime);
-                
-                // Calculate turnaround time
-                int turnaroundTime = currentTime - shortestProcess.getArrivalTime();
-                turnaroundTimes.put(shortestProcess.getId(), turnaroundTime);
-                
-                // Calculate waiting time (turnaround time - burst time)
-                int waitingTime = turnaroundTime - shortestProcess.getBurstTime();
-                waitingTimes.put(shortestProcess.getId(), waitingTime);
-                
-                remainingProcesses--;
-                
-                // Add final entry to Gantt chart
-                ganttChart.add(new GanttChartEntry(currentProcessId, currentProcessStartTime, currentTime));
-                currentProcessId = null;
+            @Override
+            protected java.util.List<AlgorithmComparison.Run> doInBackground() throws InterruptedException {
+                long start = System.nanoTime();
+                java.util.List<AlgorithmComparison.Run> runs = comparison.run(snapshot);
+                totalWallTime = System.nanoTime() - start;
+                return runs;
             }
-        }
-        
-        // Calculate averages
-        double totalWaitingTime = 0;
-        double totalTurnaroundTime = 0;
-        for (String processId : waitingTimes.keySet()) {
-            totalWaitingTime += waitingTimes.get(processId);
-            totalTurnaroundTime += turnaroundTimes.get(processId);
-        }
-        
-        double avgWaitingTime = totalWaitingTime / waitingTimes.size();
-        double avgTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
-        
-        // Optimize Gantt chart by combining consecutive entries of the same process
-        ArrayList<GanttChartEntry> optimizedGantt = new ArrayList<>();
-        if (!ganttChart.isEmpty()) {
-            GanttChartEntry currentEntry = ganttChart.get(0);
             
-            for (int i = 1; i < ganttChart.size(); i++) {
-                GanttChartEntry nextEntry = ganttChart.get(i);
-                
-                if (currentEntry.getProcessId().equals(nextEntry.getProcessId()) && 
-                    currentEntry.getEndTime() == nextEntry.getStartTime()) {
-                    // Combine entries
-                    currentEntry = new GanttChartEntry(
-                        currentEntry.getProcessId(),
-                        currentEntry.getStartTime(),
-                        nextEntry.getEndTime()
-                    );
-                } else {
-                    optimizedGantt.add(currentEntry);
-                    currentEntry = nextEntry;
+            @Override
+            protected void done() {
+                progressTimer.stop();
+                setRunning(false);
+                try {
+                    java.util.List<AlgorithmComparison.Run> runs = get();
+                    progressLabel.setText("Compared " + runs.size() + " algorithms in "
+                                          + df.format(totalWallTime / 1e6) + " ms");
+                    comparedProcesses = processes;
+                    comparisonTableModel.setRuns(runs);
+                    // Shows the first algorithm's results through the selection listener
+                    comparisonTable.setRowSelectionInterval(0, 0);
+                } catch (CancellationException ex) {
+                    progressLabel.setText("Cancelled");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    progressLabel.setText(" ");
+                    JOptionPane.showMessageDialog(CPUSchedulingSimulator.this, "Comparison failed: " + ex.getCause(), "Error", JOptionPane.ERROR_MESSAGE);
                 }
             }
-            
-            optimizedGantt.add(currentEntry);
-        }
+        };
         
-        return new SchedulingResult(optimizedGantt, waitingTimes, turnaroundTimes, 
-                                  avgWaitingTime, avgTurnaroundTime);
+        setRunning(true);
+        progressLabel.setText("Comparing...");
+        progressTimer.start();
+        schedulingWorker.execute();
     }
-}
-
-// Round Robin Algorithm
-class RoundRobin implements SchedulingAlgorithm {
-    private int quantum;
     
-    public RoundRobin(int quantum) {
-        this.quantum = quantum;
+    // Enables the buttons that start or stop a run
+    private void setRunning(boolean running) {
+        if (!running) {
+            schedulingWorker = null;
+        }
+        calculateButton.setEnabled(!running);
+        compareButton.setEnabled(!running);
+        createProcessesButton.setEnabled(!running);
+        importButton.setEnabled(!running);
+        cancelButton.setEnabled(running);
     }
     
-    @Override
-    public SchedulingResult schedule(ArrayList<Process> processes) {
-        // Create copies of processes
-        ArrayList<Process> processList = new ArrayList<>();
-        for (Process p : processes) {
-            processList.add(p.clone());
-        }
-        
-        // Sort by arrival time
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-        
-        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
-        Map<String, Integer> waitingTimes = new HashMap<>();
-        Map<String, Integer> turnaroundTimes = new HashMap<>();
-        Map<String, Integer> completionTimes = new HashMap<>();
-        
-        int currentTime = 0;
-        int remainingProcesses = processList.size();
-        
-        Queue<Process> readyQueue = new LinkedList<>();
-        Process[] processArray = processList.toArray(new Process[0]);
-        int nextProcess = 0;
-        
-        while (remainingProcesses > 0) {
-            // Add newly arrived processes to the ready queue
-            while (nextProcess < processArray.length && 
-                   processArray[nextProcess].getArrivalTime() <= currentTime) {
-                readyQueue.add(processArray[nextProcess]);
-                nextProcess++;
-            }
-            
-            if (readyQueue.isEmpty()) {
-                // No process in ready queue, move time to next arrival
-                if (nextProcess < processArray.length) {
-                    currentTime = processArray[nextProcess].getArrivalTime();
-                    continue;
-                }
-                break;
-            }
-            
-            // Get next process from ready queue
-            Process process = readyQueue.poll();
-            
-            // Calculate execution time for this quantum
-            int executionTime = Math.min(quantum, process.getRemainingTime());
-            
-            int startTime = currentTime;
-            int endTime = startTime + executionTime;
-            
-            // Execute process
-            process.decreaseRemainingTime(executionTime);
-            currentTime = endTime;
-            
-            // Add to gantt chart
-            ganttChart.add(new GanttChartEntry(process.getId(), startTime, endTime));
-            
-            // Add newly arrived processes during this execution
-            while (nextProcess < processArray.length && 
-                   processArray[nextProcess].getArrivalTime() <= currentTime) {
-                readyQueue.add(processArray[nextProcess]);
-                nextProcess++;
-            }
-            
-            // If process is not finished, add it back to ready queue
-            if (process.getRemainingTime() > 0) {
-                readyQueue.add(process);
-            } else {
-                // Process is complete
-                completionTimes.put(process.getId(), currentTime);
-                
-                // Calculate turnaround time
-                int turnaroundTime = currentTime - process.getArrivalTime();
-                turnaroundTimes.put(process.getId(), turnaroundTime);
-                
-                // Calculate waiting time (turnaround time - burst time)
-                int waitingTime = turnaroundTime - process.getBurstTime();
-                waitingTimes.put(process.getId(), waitingTime);
-                
-                remainingProcesses--;
-            }
-        }
+    private void displayResults(SchedulingResult result, ArrayList<Process> processes) {
+        ganttChartPanel.setGanttChart(result.getGanttChart());
+        resultTableModel.setResult(result, processes);
         
-        // Calculate averages
-        double totalWaitingTime = 0;
-        double totalTurnaroundTime = 0;
-        for (String processId : waitingTimes.keySet()) {
-            totalWaitingTime += waitingTimes.get(processId);
-            totalTurnaroundTime += turnaroundTimes.get(processId);
+        // Averages
+        StringBuilder averages = new StringBuilder();
+        averages.append("Average Waiting Time: ")
+                .append(df.format(result.getAverageWaitingTime()))
+                .append("\n")
+                .append("Average Turnaround Time: ")
+                .append(df.format(result.getAverageTurnaroundTime()))
+                .append("\n")
+                .append(result.getMetrics().summary());
+        averagesArea.setText(averages.toString());
+    }
+    
+    public static void main(String[] args) {
+        if (BatchRunner.isBatch(args)) {
+            // Headless mode, no window is created
+            System.exit(BatchRunner.run(args));
         }
         
-        double avgWaitingTime = totalWaitingTime / waitingTimes.size();
-        double avgTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
-        
-        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, 
-                                  avgWaitingTime, avgTurnaroundTime);
+        SwingUtilities.invokeLater(() -> {
+            CPUSchedulingSimulator simulator = new CPUSchedulingSimulator();
+            simulator.setVisible(true);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+import java.util.*;
+
+// Calendar queue (R. Brown, 1988): a priority queue of int values by long
+// time with O(1) expected add and poll when the times are spread out, as
+// future events in a simulation are. Times fall into buckets of a fixed
+// width, one "year" of buckets wrapping around, each bucket a sorted list.
+// Polling scans forward from the bucket of the last event polled. The bucket
+// count doubles or halves as the queue grows or shrinks, and the width is
+// then re-estimated from the spacing of the earliest events.
+//
+// Events with equal times come out in the order they were added. Times must
+// not be earlier than the last time polled.
+class CalendarQueue {
+    private static final int MIN_BUCKETS = 16;
+    // Events sampled to estimate the bucket width
+    private static final int WIDTH_SAMPLE = 25;
+    
+    // First node of each bucket, or -1
+    private int[] buckets;
+    private long width = 1;
+    private int size;
+    
+    // Nodes, linked into buckets or into the free list
+    private long[] times = new long[MIN_BUCKETS];
+    private int[] values = new int[MIN_BUCKETS];
+    private int[] nextNodes = new int[MIN_BUCKETS];
+    private int nodeCount;
+    private int freeNode = -1;
+    
+    // Where the last scan stopped: the bucket, the end of the time range it
+    // covers in the current year, and the time found there
+    private int lastBucket;
+    private long bucketTop = 1;
+    private long lastTime;
+    // Bucket holding the earliest event, or -1 if not known
+    private int minBucket = -1;
+    
+    public CalendarQueue() {
+        buckets = new int[MIN_BUCKETS];
+        Arrays.fill(buckets, -1);
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void add(long time, int value) {
+        insert(time, value);
+        if (size > 2 * buckets.length) {
+            resize(buckets.length * 2);
+        }
+    }
+    
+    public long peekTime() {
+        return times[buckets[findMinBucket()]];
+    }
+    
+    public int poll() {
+        int bucket = findMinBucket();
+        int node = buckets[bucket];
+        buckets[bucket] = nextNodes[node];
+        nextNodes[node] = freeNode;
+        freeNode = node;
+        size--;
+        minBucket = buckets[bucket] >= 0 && times[buckets[bucket]] < bucketTop ? bucket : -1;
+        int value = values[node];
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+            resize(buckets.length / 2);
+        }
+        return value;
+    }
+    
+    private void insert(long time, int value) {
+        if (time < lastTime) {
+            // Earlier than where the last scan stopped, which only a peek
+            // can have moved past it
+            lastTime = time;
+            lastBucket = bucketOf(time);
+            bucketTop = (time / width + 1) * width;
+        }
+        
+        int node = freeNode;
+        if (node >= 0) {
+            freeNode = nextNodes[node];
+        } else {
+            if (nodeCount == times.length) {
+                times = Arrays.copyOf(times, nodeCount * 2);
+                values = Arrays.copyOf(values, nodeCount * 2);
+                nextNodes = Arrays.copyOf(nextNodes, nodeCount * 2);
+            }
+            node = nodeCount++;
+        }
+        times[node] = time;
+        values[node] = value;
+        
+        // After any events with the same time
+        int bucket = bucketOf(time);
+        int previous = -1;
+        int current = buckets[bucket];
+        while (current >= 0 && times[current] <= time) {
+            previous = current;
+            current = nextNodes[current];
+        }
+        nextNodes[node] = current;
+        if (previous < 0) {
+            buckets[bucket] = node;
+        } else {
+            nextNodes[previous] = node;
+        }
+        size++;
+        minBucket = -1;
+    }
+    
+    private int findMinBucket() {
+        if (minBucket >= 0) {
+            return minBucket;
+        }
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        
+        // Scan one year ahead for an event in its bucket's current range
+        int bucket = lastBucket;
+        long top = bucketTop;
+        for (int i = 0; i < buckets.length; i++) {
+            int node = buckets[bucket];
+            if (node >= 0 && times[node] < top) {
+                return found(bucket, top, times[node]);
+            }
+            bucket = (bucket + 1) & (buckets.length - 1);
+            top += width;
+        }
+        
+        // Nothing within a year; look at the head of every bucket instead
+        int best = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] >= 0 && (best < 0 || times[buckets[i]] < times[buckets[best]])) {
+                best = i;
+            }
+        }
+        long time = times[buckets[best]];
+        return found(best, (time / width + 1) * width, time);
+    }
+    
+    private int found(int bucket, long top, long time) {
+        lastBucket = bucket;
+        bucketTop = top;
+        lastTime = time;
+        minBucket = bucket;
+        return bucket;
+    }
+    
+    private int bucketOf(long time) {
+        return (int) ((time / width) & (buckets.length - 1));
+    }
+    
+    // Takes every event out in order and puts them back into bucketCount
+    // buckets of a newly estimated width
+    private void resize(int bucketCount) {
+        int count = size;
+        long[] oldTimes = new long[count];
+        int[] oldValues = new int[count];
+        for (int i = 0; i < count; i++) {
+            int bucket = findMinBucket();
+            int node = buckets[bucket];
+            oldTimes[i] = times[node];
+            oldValues[i] = values[node];
+            buckets[bucket] = nextNodes[node];
+            minBucket = -1;
+        }
+        
+        width = estimateWidth(oldTimes, width);
+        buckets = new int[bucketCount];
+        Arrays.fill(buckets, -1);
+        nodeCount = 0;
+        freeNode = -1;
+        size = 0;
+        long start = count > 0 ? oldTimes[0] : lastTime;
+        lastTime = start;
+        lastBucket = bucketOf(start);
+        bucketTop = (start / width + 1) * width;
+        for (int i = 0; i < count; i++) {
+            insert(oldTimes[i], oldValues[i]);
+        }
+    }
+    
+    // Three times the average gap between the earliest events, leaving out
+    // gaps more than twice the average as Brown suggests
+    private static long estimateWidth(long[] sortedTimes, long currentWidth) {
+        int samples = Math.min(sortedTimes.length, WIDTH_SAMPLE);
+        if (samples < 2) {
+            return currentWidth;
+        }
+        double average = (double) (sortedTimes[samples - 1] - sortedTimes[0]) / (samples - 1);
+        double total = 0;
+        int gaps = 0;
+        for (int i = 1; i < samples; i++) {
+            long gap = sortedTimes[i] - sortedTimes[i - 1];
+            if (gap <= 2 * average) {
+                total += gap;
+                gaps++;
+            }
+        }
+        if (gaps == 0 || total == 0) {
+            return currentWidth;
+        }
+        return Math.max(1, Math.round(3 * total / gaps));
+    }
+}
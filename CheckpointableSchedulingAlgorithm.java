@@ -0,0 +1,11 @@
+// Algorithms whose compact runs can be checkpointed and resumed
+interface CheckpointableSchedulingAlgorithm extends SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    // Runs from the start, saving checkpoints when the checkpointer says
+    CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart,
+                                     Checkpointer checkpointer);
+    
+    // Carries on from the checkpoint, which must have been taken by an
+    // algorithm with the same configuration on the same workload
+    CompactSchedulingResult resume(CompactWorkload workload, SchedulerCheckpoint checkpoint,
+                                   Checkpointer checkpointer);
+}
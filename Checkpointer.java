@@ -0,0 +1,158 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Decides when a scheduling loop should take a checkpoint and writes the
+// checkpoints on a background thread, so the loop only pays for copying its
+// state. A checkpoint is due once the interval has passed since the last
+// one and the last one has finished writing; while a write is still going
+// the loop carries on rather than wait for it. Like SchedulingMonitor, the
+// clock is only read every CHECK_INTERVAL calls.
+class Checkpointer implements Closeable {
+    private static final int CHECK_INTERVAL = 1024;
+    
+    // Never asks for a checkpoint
+    static final Checkpointer NONE = new Checkpointer() {
+        @Override
+        public boolean isDue() {
+            return false;
+        }
+    };
+    
+    private final Path path;
+    private final long intervalNanos;
+    private final ExecutorService writer;
+    private Future<?> pendingWrite;
+    private long nextCheckpointTime;
+    private int untilNextCheck;
+    private int written;
+    private IOException failure;
+    // Gantt entries in the file as of the last write that succeeded, and
+    // in the file once the pending write is done
+    private int ganttEntriesWritten;
+    private int pendingGanttEntries;
+    
+    // For subclasses that keep checkpoints some other way
+    Checkpointer() {
+        path = null;
+        intervalNanos = Long.MAX_VALUE;
+        writer = null;
+        nextCheckpointTime = Long.MAX_VALUE;
+    }
+    
+    public Checkpointer(Path path, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.path = path;
+        this.intervalNanos = intervalMillis * 1_000_000;
+        this.nextCheckpointTime = System.nanoTime() + intervalNanos;
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // Called from the scheduling loop on every iteration
+    public boolean isDue() {
+        if (--untilNextCheck > 0) {
+            return false;
+        }
+        untilNextCheck = CHECK_INTERVAL;
+        if (System.nanoTime() < nextCheckpointTime) {
+            return false;
+        }
+        return pendingWrite == null || pendingWrite.isDone();
+    }
+    
+    // Called by the scheduling loop when a checkpoint is due, with its live
+    // state. The state and ready queue arrays are the loop's to give away;
+    // everything else it goes on changing, so is copied. Of the Gantt chart
+    // only the entries not yet written are copied, along with the last one
+    // written, which may have been extended since.
+    public void save(String configuration, long workloadFingerprint, long[] state, long[] readyQueue,
+                     int[] remainingTimes, long[] waitingTimes, long[] turnaroundTimes,
+                     LatencyMetrics metrics, CompactGanttChart ganttChart) {
+        collectPendingWrite();
+        int firstEntry = ganttChart.isRecordingEntries()
+                         ? Math.max(0, Math.min(ganttEntriesWritten, ganttChart.size()) - 1) : 0;
+        save(new SchedulerCheckpoint(configuration, workloadFingerprint, remainingTimes.length, state, readyQueue,
+                                     remainingTimes.clone(), waitingTimes.clone(), turnaroundTimes.clone(),
+                                     metrics.copy(), ganttChart.copyFrom(firstEntry), firstEntry));
+    }
+    
+    // Queues the checkpoint to be written; it must not be changed afterwards
+    public void save(SchedulerCheckpoint checkpoint) {
+        collectPendingWrite();
+        pendingGanttEntries = checkpoint.getGanttEntryCount();
+        pendingWrite = writer.submit(() -> {
+            checkpoint.write(path);
+            return null;
+        });
+        nextCheckpointTime = System.nanoTime() + intervalNanos;
+    }
+    
+    // Checkpoints written so far; a write still in progress is not counted
+    public int getWrittenCount() {
+        return written;
+    }
+    
+    // First write that failed, or null. Later checkpoints are still tried.
+    public IOException getFailure() {
+        return failure;
+    }
+    
+    // Waits for the last checkpoint to finish writing
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        awaitPendingWrite();
+        writer.shutdown();
+    }
+    
+    // Waits for the checkpoint being written, if any, to finish
+    void awaitPendingWrite() {
+        boolean interrupted = false;
+        while (pendingWrite != null) {
+            try {
+                pendingWrite.get();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+                continue;
+            } catch (ExecutionException ex) {
+                // Reported below
+            }
+            collectPendingWrite();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void collectPendingWrite() {
+        if (pendingWrite == null || !pendingWrite.isDone()) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+            written++;
+            ganttEntriesWritten = pendingGanttEntries;
+        } catch (ExecutionException ex) {
+            if (failure == null) {
+                failure = ex.getCause() instanceof IOException ? (IOException) ex.getCause()
+                                                               : new IOException(ex.getCause());
+            }
+        } catch (InterruptedException ex) {
+            // Cannot happen, the write is done
+            Thread.currentThread().interrupt();
+        }
+        pendingWrite = null;
+    }
+}
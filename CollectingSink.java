@@ -0,0 +1,49 @@
+import java.util.*;
+
+// Sink that collects everything into a SchedulingResult, for small workloads
+// and for comparing against the batch schedulers. Without per-process times
+// only the Gantt chart and the metrics are kept.
+class CollectingSink implements SchedulingSink {
+    private ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+    private Map<String, Integer> waitingTimes;
+    private Map<String, Integer> turnaroundTimes;
+    private LatencyMetrics metrics = new LatencyMetrics();
+    // First dispatch of each process still running; the arrival time that
+    // turns it into a response time only comes with the completion
+    private Map<String, Integer> firstRunTimes = new HashMap<>();
+    
+    public CollectingSink() {
+        this(true);
+    }
+    
+    public CollectingSink(boolean includeProcessTimes) {
+        if (includeProcessTimes) {
+            waitingTimes = new HashMap<>();
+            turnaroundTimes = new HashMap<>();
+        }
+    }
+    
+    @Override
+    public void ganttEntry(GanttChartEntry entry) {
+        ganttChart.add(entry);
+        firstRunTimes.putIfAbsent(entry.getProcessId(), entry.getStartTime());
+    }
+    
+    @Override
+    public void processCompleted(Process process, int waitingTime, int turnaroundTime) {
+        if (waitingTimes != null) {
+            waitingTimes.put(process.getId(), waitingTime);
+            turnaroundTimes.put(process.getId(), turnaroundTime);
+        }
+        Integer firstRunTime = firstRunTimes.remove(process.getId());
+        if (firstRunTime != null) {
+            metrics.recordFirstRun(process.getArrivalTime(), firstRunTime);
+        }
+        metrics.recordCompletion(process.getArrivalTime(), process.getBurstTime(),
+                                 process.getArrivalTime() + turnaroundTime);
+    }
+    
+    public SchedulingResult getResult() {
+        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.*;
+
+// Gantt chart stored as parallel arrays of process index, start and end time
+class CompactGanttChart {
+    private int[] processIndices;
+    private long[] startTimes;
+    private long[] endTimes;
+    private int size;
+    private boolean recordEntries;
+    // Last entry added, kept even when entries are not recorded
+    private int lastProcessIndex = -1;
+    private long lastEndTime = -1;
+    
+    public CompactGanttChart() {
+        this(true);
+    }
+    
+    // With recordEntries false the chart only counts entries, so runs that
+    // just need the metrics don't hold a chart in memory
+    public CompactGanttChart(boolean recordEntries) {
+        this.recordEntries = recordEntries;
+        int capacity = recordEntries ? 16 : 0;
+        processIndices = new int[capacity];
+        startTimes = new long[capacity];
+        endTimes = new long[capacity];
+    }
+    
+    public void add(int processIndex, long startTime, long endTime) {
+        lastProcessIndex = processIndex;
+        lastEndTime = endTime;
+        if (!recordEntries) {
+            size++;
+            return;
+        }
+        if (size == processIndices.length) {
+            int capacity = size * 2;
+            processIndices = Arrays.copyOf(processIndices, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+        }
+        processIndices[size] = processIndex;
+        startTimes[size] = startTime;
+        endTimes[size] = endTime;
+        size++;
+    }
+    
+    // Extends the last entry instead when it is the same process and ends
+    // where this one starts
+    public void addOrExtend(int processIndex, long startTime, long endTime) {
+        if (processIndex != lastProcessIndex || startTime != lastEndTime) {
+            add(processIndex, startTime, endTime);
+            return;
+        }
+        lastEndTime = endTime;
+        if (recordEntries) {
+            endTimes[size - 1] = endTime;
+        }
+    }
+    
+    // Counts entries on a chart that is not recording them, given the last
+    // of them
+    public void addUnrecorded(long count, int processIndex, long endTime) {
+        if (recordEntries) {
+            throw new IllegalStateException("Chart is recording entries");
+        }
+        size += (int) count;
+        lastProcessIndex = processIndex;
+        lastEndTime = endTime;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isRecordingEntries() {
+        return recordEntries;
+    }
+    
+    public int getProcessIndex(int entry) {
+        return processIndices[entry];
+    }
+    
+    public long getStartTime(int entry) {
+        return startTimes[entry];
+    }
+    
+    public long getEndTime(int entry) {
+        return endTimes[entry];
+    }
+    
+    // Process of the last entry added, or -1
+    public int getLastProcessIndex() {
+        return lastProcessIndex;
+    }
+    
+    public long getLastEndTime() {
+        return lastEndTime;
+    }
+    
+    // The chart as it was when it had the given number of entries, the last
+    // of them, since extended by addOrExtend, then ending at lastEndTime
+    public CompactGanttChart copyPrefix(int entries, int lastProcessIndex, long lastEndTime) {
+        CompactGanttChart copy = new CompactGanttChart(recordEntries);
+        int capacity = recordEntries ? Math.max(entries, 16) : 0;
+        copy.processIndices = Arrays.copyOf(processIndices, capacity);
+        copy.startTimes = Arrays.copyOf(startTimes, capacity);
+        copy.endTimes = Arrays.copyOf(endTimes, capacity);
+        copy.size = entries;
+        copy.lastProcessIndex = lastProcessIndex;
+        copy.lastEndTime = lastEndTime;
+        if (recordEntries && entries > 0) {
+            copy.endTimes[entries - 1] = lastEndTime;
+        }
+        return copy;
+    }
+    
+    // The entries from firstEntry on, as a chart of their own; a chart that
+    // is not recording entries is copied whole, which is just its count
+    public CompactGanttChart copyFrom(int firstEntry) {
+        if (!recordEntries) {
+            return copy();
+        }
+        CompactGanttChart copy = new CompactGanttChart(true);
+        int entries = size - firstEntry;
+        int capacity = Math.max(entries, 16);
+        copy.processIndices = Arrays.copyOfRange(processIndices, firstEntry, firstEntry + capacity);
+        copy.startTimes = Arrays.copyOfRange(startTimes, firstEntry, firstEntry + capacity);
+        copy.endTimes = Arrays.copyOfRange(endTimes, firstEntry, firstEntry + capacity);
+        copy.size = entries;
+        copy.lastProcessIndex = lastProcessIndex;
+        copy.lastEndTime = lastEndTime;
+        return copy;
+    }
+    
+    public CompactGanttChart copy() {
+        CompactGanttChart copy = new CompactGanttChart(recordEntries);
+        int capacity = recordEntries ? Math.max(size, 16) : 0;
+        copy.processIndices = Arrays.copyOf(processIndices, capacity);
+        copy.startTimes = Arrays.copyOf(startTimes, capacity);
+        copy.endTimes = Arrays.copyOf(endTimes, capacity);
+        copy.size = size;
+        copy.lastProcessIndex = lastProcessIndex;
+        copy.lastEndTime = lastEndTime;
+        return copy;
+    }
+}
@@ -0,0 +1,4 @@
+// Interface for scheduling algorithms that run on a CompactWorkload
+interface CompactSchedulingAlgorithm {
+    CompactSchedulingResult schedule(CompactWorkload workload);
+}
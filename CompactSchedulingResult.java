@@ -0,0 +1,74 @@
+import java.util.*;
+
+// Scheduling result for a CompactWorkload. Waiting and turnaround times are
+// indexed by process index.
+class CompactSchedulingResult {
+    private CompactWorkload workload;
+    private CompactGanttChart ganttChart;
+    private long[] waitingTimes;
+    private long[] turnaroundTimes;
+    private LatencyMetrics metrics;
+    
+    public CompactSchedulingResult(CompactWorkload workload, CompactGanttChart ganttChart,
+                                   long[] waitingTimes, long[] turnaroundTimes, LatencyMetrics metrics) {
+        this.workload = workload;
+        this.ganttChart = ganttChart;
+        this.waitingTimes = waitingTimes;
+        this.turnaroundTimes = turnaroundTimes;
+        this.metrics = metrics;
+    }
+    
+    public CompactWorkload getWorkload() {
+        return workload;
+    }
+    
+    public CompactGanttChart getGanttChart() {
+        return ganttChart;
+    }
+    
+    public long getWaitingTime(int processIndex) {
+        return waitingTimes[processIndex];
+    }
+    
+    public long getTurnaroundTime(int processIndex) {
+        return turnaroundTimes[processIndex];
+    }
+    
+    public LatencyMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public double getAverageWaitingTime() {
+        return metrics.getWaitingTimes().getMean();
+    }
+    
+    public double getAverageTurnaroundTime() {
+        return metrics.getTurnaroundTimes().getMean();
+    }
+    
+    // Adapter to the object-based SchedulingResult
+    public SchedulingResult toSchedulingResult() {
+        return toSchedulingResult(true);
+    }
+    
+    // Leaves out the per-process maps when includeProcessTimes is false
+    public SchedulingResult toSchedulingResult(boolean includeProcessTimes) {
+        int entryCount = ganttChart.isRecordingEntries() ? ganttChart.size() : 0;
+        ArrayList<GanttChartEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(new GanttChartEntry(workload.getId(ganttChart.getProcessIndex(i)),
+                                            (int) ganttChart.getStartTime(i),
+                                            (int) ganttChart.getEndTime(i)));
+        }
+        if (!includeProcessTimes) {
+            return new SchedulingResult(entries, null, null, metrics);
+        }
+        Map<String, Integer> waitingTimeMap = new HashMap<>();
+        Map<String, Integer> turnaroundTimeMap = new HashMap<>();
+        for (int i = 0; i < workload.size(); i++) {
+            waitingTimeMap.put(workload.getId(i), (int) waitingTimes[i]);
+            turnaroundTimeMap.put(workload.getId(i), (int) turnaroundTimes[i]);
+        }
+        return new SchedulingResult(entries, waitingTimeMap, turnaroundTimeMap, metrics);
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.*;
+
+// Compact workload: one row per process stored in parallel primitive arrays.
+// Processes are referred to by their integer index; the String id is only
+// kept once, in the id table.
+//
+// Processes with I/O keep their CPU and I/O bursts in one shared array,
+// process i's bursts running from burstOffsets[i] to burstOffsets[i + 1].
+// Those arrays are only allocated once the first process with I/O is
+// added, and burstTimes always holds each process's total CPU time.
+class CompactWorkload {
+    private String[] ids;
+    private int[] arrivalTimes;
+    private int[] burstTimes;
+    private int[] priorities;
+    private int size;
+    private int[] burstOffsets;
+    private int[] bursts;
+    
+    public CompactWorkload() {
+        this(16);
+    }
+    
+    public CompactWorkload(int capacity) {
+        ids = new String[Math.max(capacity, 1)];
+        arrivalTimes = new int[ids.length];
+        burstTimes = new int[ids.length];
+        priorities = new int[ids.length];
+    }
+    
+    // Adapter from the object-based model
+    public static CompactWorkload fromProcesses(List<Process> processes) {
+        CompactWorkload workload = new CompactWorkload(processes.size());
+        for (Process p : processes) {
+            if (p.hasIoBursts()) {
+                workload.add(p.getId(), p.getArrivalTime(), p.getBursts(), p.getPriority());
+            } else {
+                workload.add(p.getId(), p.getArrivalTime(), p.getBurstTime(), p.getPriority());
+            }
+        }
+        return workload;
+    }
+    
+    // Adds a process with priority 0 and returns its index
+    public int add(String id, int arrivalTime, int burstTime) {
+        return add(id, arrivalTime, burstTime, 0);
+    }
+    
+    public int add(String id, int arrivalTime, int burstTime, int priority) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            burstTimes = Arrays.copyOf(burstTimes, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            if (burstOffsets != null) {
+                burstOffsets = Arrays.copyOf(burstOffsets, capacity + 1);
+            }
+        }
+        ids[size] = id;
+        arrivalTimes[size] = arrivalTime;
+        burstTimes[size] = burstTime;
+        priorities[size] = priority;
+        if (burstOffsets != null) {
+            setBursts(size, new int[] {burstTime});
+        }
+        return size++;
+    }
+    
+    // Adds a process with CPU and I/O bursts in turn, as for Process
+    public int add(String id, int arrivalTime, int[] processBursts, int priority) {
+        int cpuTime = new Process(id, arrivalTime, processBursts, priority).getBurstTime();
+        if (processBursts.length == 1) {
+            return add(id, arrivalTime, cpuTime, priority);
+        }
+        if (burstOffsets == null) {
+            // Every process so far has a single CPU burst
+            burstOffsets = new int[ids.length + 1];
+            bursts = new int[Math.max(16, size * 2)];
+            for (int i = 0; i < size; i++) {
+                bursts[i] = burstTimes[i];
+                burstOffsets[i + 1] = i + 1;
+            }
+        }
+        int index = add(id, arrivalTime, cpuTime, priority);
+        // Overwrites the single burst add() gave it
+        setBursts(index, processBursts);
+        return index;
+    }
+    
+    // Stores the bursts of the last process, after those of the one before
+    private void setBursts(int index, int[] processBursts) {
+        int start = burstOffsets[index];
+        if (start + processBursts.length > bursts.length) {
+            bursts = Arrays.copyOf(bursts, Math.max(bursts.length * 2, start + processBursts.length));
+        }
+        System.arraycopy(processBursts, 0, bursts, start, processBursts.length);
+        burstOffsets[index + 1] = start + processBursts.length;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public String getId(int index) {
+        return ids[index];
+    }
+    
+    public int getArrivalTime(int index) {
+        return arrivalTimes[index];
+    }
+    
+    public int getBurstTime(int index) {
+        return burstTimes[index];
+    }
+    
+    public int getPriority(int index) {
+        return priorities[index];
+    }
+    
+    // Whether any process has I/O bursts
+    public boolean hasIoBursts() {
+        return burstOffsets != null;
+    }
+    
+    // Number of CPU and I/O bursts; always odd
+    public int getBurstCount(int index) {
+        return burstOffsets == null ? 1 : burstOffsets[index + 1] - burstOffsets[index];
+    }
+    
+    // CPU bursts are at even positions and I/O bursts at odd ones
+    public int getBurst(int index, int burst) {
+        return burstOffsets == null ? burstTimes[index] : bursts[burstOffsets[index] + burst];
+    }
+    
+    public int[] getBursts(int index) {
+        if (burstOffsets == null) {
+            return new int[] {burstTimes[index]};
+        }
+        return Arrays.copyOfRange(bursts, burstOffsets[index], burstOffsets[index + 1]);
+    }
+    
+    // Total length of the I/O bursts
+    public long getIoTime(int index) {
+        long total = 0;
+        for (int burst = 1; burst < getBurstCount(index); burst += 2) {
+            total += getBurst(index, burst);
+        }
+        return total;
+    }
+    
+    // Whether the other workload has the same processes in the same order,
+    // bursts included
+    public boolean sameProcesses(CompactWorkload other) {
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!ids[i].equals(other.ids[i]) || arrivalTimes[i] != other.arrivalTimes[i]
+                || burstTimes[i] != other.burstTimes[i] || priorities[i] != other.priorities[i]
+                || getBurstCount(i) != other.getBurstCount(i)) {
+                return false;
+            }
+            for (int burst = 0; burst < getBurstCount(i); burst++) {
+                if (getBurst(i, burst) != other.getBurst(i, burst)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    // Process indices sorted by arrival time, ties kept in index order (the
+    // same order a stable sort of the object list gives). Arrival times are
+    // non-negative, so (arrival, index) packs into one sortable long.
+    public int[] arrivalOrder() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) arrivalTimes[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+    
+    // Adapter back to the object-based model
+    public ArrayList<Process> toProcesses() {
+        ArrayList<Process> processes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (getBurstCount(i) > 1) {
+                processes.add(new Process(ids[i], arrivalTimes[i], getBursts(i), priorities[i]));
+            } else {
+                processes.add(new Process(ids[i], arrivalTimes[i], burstTimes[i], priorities[i]));
+            }
+        }
+        return processes;
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.*;
+import javax.swing.table.AbstractTableModel;
+
+// Read-only table with one row per algorithm of an AlgorithmComparison
+class ComparisonTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    
+    private static final String[] COLUMN_NAMES = {"Algorithm", "Avg Waiting", "Avg Turnaround", "P99 Waiting",
+                                                  "Avg Response", "Dispatches", "Wall Time (ms)"};
+    
+    private List<AlgorithmComparison.Run> runs = Collections.emptyList();
+    
+    public void setRuns(List<AlgorithmComparison.Run> runs) {
+        this.runs = runs;
+        fireTableDataChanged();
+    }
+    
+    public AlgorithmComparison.Run getRun(int row) {
+        return runs.get(row);
+    }
+    
+    @Override
+    public int getRowCount() {
+        return runs.size();
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        switch (column) {
+            case 0:
+                return String.class;
+            case 3:
+            case 5:
+                return Long.class;
+            default:
+                return Double.class;
+        }
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        AlgorithmComparison.Run run = runs.get(row);
+        LatencyMetrics metrics = run.getResult().getMetrics();
+        switch (column) {
+            case 0:
+                return run.getName();
+            case 1:
+                return metrics.getWaitingTimes().getMean();
+            case 2:
+                return metrics.getTurnaroundTimes().getMean();
+            case 3:
+                return metrics.getWaitingTimes().getValueAtPercentile(99);
+            case 4:
+                return metrics.getResponseTimes().getMean();
+            case 5:
+                return (long) run.getResult().getGanttChart().size();
+            default:
+                return run.getWallTimeNanos() / 1e6;
+        }
+    }
+}
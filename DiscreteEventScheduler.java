@@ -0,0 +1,173 @@
+import java.util.*;
+
+// Discrete-event simulation of one CPU, with the order of the ready queue
+// left to a ReadyQueuePolicy. Future events, that is arrivals and I/O
+// completions, wait in a CalendarQueue; only the next arrival is scheduled
+// at a time, so the queue holds one arrival plus the processes doing I/O.
+// The running process's slice end is kept beside the queue rather than in
+// it, since there is only ever one.
+//
+// At each event time, every arrival and I/O completion due joins the ready
+// queue first, then the running process's slice end is handled, and only
+// then is the next process picked. With single-burst workloads this gives
+// exactly the schedules of FCFS, HeapSJF, EventDrivenSRT and RoundRobin
+// with the matching policy.
+//
+// Processes with I/O bursts leave the CPU after each CPU burst and rejoin
+// the ready queue when the I/O completes, so any number of processes can
+// be doing I/O at once. A process's waiting time is the time it spent in
+// the ready queue: turnaround time less its CPU and I/O time.
+class DiscreteEventScheduler implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    private static final int ARRIVAL = 0;
+    private static final int IO_COMPLETION = 1;
+    
+    private final ReadyQueuePolicy policy;
+    
+    public DiscreteEventScheduler(ReadyQueuePolicy policy) {
+        this.policy = policy;
+    }
+    
+    public static boolean hasIoBursts(List<Process> processes) {
+        for (Process process : processes) {
+            if (process.hasIoBursts()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public String getConfiguration() {
+        return "DiscreteEventScheduler(" + policy.getConfiguration() + ")";
+    }
+    
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        return schedule(CompactWorkload.fromProcesses(processes)).toSchedulingResult();
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        return schedule(workload, new CompactGanttChart());
+    }
+    
+    // Pass a chart made with CompactGanttChart(false) when only the metrics
+    // are needed
+    public CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart) {
+        // Processes are referred to by position in arrival order, so that
+        // policies break ties by arrival
+        int[] order = workload.arrivalOrder();
+        int[] burstIndices = new int[order.length];
+        // Left of the current CPU burst, by position
+        int[] remainingTimes = new int[order.length];
+        
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        ReadyQueuePolicy.ReadyQueue readyQueue = policy.newReadyQueue();
+        CalendarQueue events = new CalendarQueue();
+        long timeSlice = policy.getTimeSlice();
+        boolean preemptive = policy.isPreemptive();
+        if (order.length > 0) {
+            events.add(workload.getArrivalTime(order[0]), ARRIVAL);
+        }
+        
+        long currentTime = 0;
+        int completedProcesses = 0;
+        int running = -1;
+        // Start of the running process's Gantt entry, when its remaining
+        // time was last brought up to date, and when it leaves the CPU
+        long runStartTime = 0;
+        long updatedTime = 0;
+        long runEndTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        
+        while (completedProcesses < order.length) {
+            monitor.checkpoint(currentTime, completedProcesses);
+            
+            currentTime = events.isEmpty() ? Long.MAX_VALUE : events.peekTime();
+            if (running >= 0) {
+                currentTime = Math.min(currentTime, runEndTime);
+                remainingTimes[running] -= (int) (currentTime - updatedTime);
+                updatedTime = currentTime;
+            }
+            
+            // Arrivals and I/O completions due now join the ready queue
+            boolean becameReady = false;
+            while (!events.isEmpty() && events.peekTime() <= currentTime) {
+                int event = events.poll();
+                int position = event >>> 1;
+                int process = order[position];
+                if ((event & 1) == ARRIVAL) {
+                    if (position + 1 < order.length) {
+                        events.add(workload.getArrivalTime(order[position + 1]), (position + 1) << 1 | ARRIVAL);
+                    }
+                } else {
+                    burstIndices[position]++;
+                }
+                remainingTimes[position] = workload.getBurst(process, burstIndices[position]);
+                readyQueue.add(position, remainingTimes[position]);
+                becameReady = true;
+            }
+            
+            int next = -1;
+            if (running >= 0 && currentTime == runEndTime) {
+                int process = order[running];
+                ganttChart.add(process, runStartTime, currentTime);
+                stats.ran(process, runStartTime, currentTime, readyQueue.size());
+                if (remainingTimes[running] > 0) {
+                    // Time slice used up
+                    readyQueue.add(running, remainingTimes[running]);
+                } else if (burstIndices[running] + 1 < workload.getBurstCount(process)) {
+                    // Off to I/O
+                    burstIndices[running]++;
+                    events.add(currentTime + workload.getBurst(process, burstIndices[running]),
+                               running << 1 | IO_COMPLETION);
+                    stats.completed();
+                } else {
+                    long busyTime = workload.getBurstTime(process) + workload.getIoTime(process);
+                    turnaroundTimes[process] = currentTime - workload.getArrivalTime(process);
+                    waitingTimes[process] = turnaroundTimes[process] - busyTime;
+                    metrics.recordCompletion(workload.getArrivalTime(process), busyTime, currentTime);
+                    stats.completed();
+                    completedProcesses++;
+                }
+                running = -1;
+            } else if (running >= 0 && becameReady && preemptive) {
+                // The running process competes with the processes that just became ready
+                readyQueue.add(running, remainingTimes[running]);
+                next = readyQueue.poll();
+                if (next == running) {
+                    // Keeps the CPU, in the same Gantt entry
+                    next = -1;
+                } else {
+                    ganttChart.add(order[running], runStartTime, currentTime);
+                    stats.ran(order[running], runStartTime, currentTime, readyQueue.size());
+                    running = -1;
+                }
+            }
+            
+            if (running < 0) {
+                if (next < 0 && !readyQueue.isEmpty()) {
+                    next = readyQueue.poll();
+                }
+                if (next >= 0) {
+                    int process = order[next];
+                    if (burstIndices[next] == 0 && remainingTimes[next] == workload.getBurst(process, 0)) {
+                        metrics.recordFirstRun(workload.getArrivalTime(process), currentTime);
+                    }
+                    running = next;
+                    runStartTime = currentTime;
+                    updatedTime = currentTime;
+                    runEndTime = currentTime + Math.min(timeSlice, remainingTimes[next]);
+                }
+            }
+        }
+        
+        stats.addComparisons(readyQueue.getComparisons());
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+}
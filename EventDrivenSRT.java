@@ -0,0 +1,255 @@
+import java.util.*;
+
+// Event-driven SRT Algorithm (Preemptive SJF)
+// Gives the same schedule as SRT, but only stops at arrivals and completions
+// instead of simulating every time unit
+class EventDrivenSRT implements CheckpointableSchedulingAlgorithm {
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.SRT).schedule(processes);
+        }
+        
+        // Create copies of processes
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort by arrival time
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        Process[] processArray = processList.toArray(new Process[0]);
+        
+        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        // Ready processes ordered by remaining time, ties broken by position in
+        // arrival order (the same choice SRT's linear scan makes)
+        long[] comparisons = new long[1];
+        PriorityQueue<Integer> readyQueue = new PriorityQueue<>((a, b) -> {
+            if (SchedulerStats.ENABLED) {
+                comparisons[0]++;
+            }
+            int byRemaining = Integer.compare(processArray[a].getRemainingTime(),
+                                              processArray[b].getRemainingTime());
+            return byRemaining != 0 ? byRemaining : Integer.compare(a, b);
+        });
+        
+        int currentTime = 0;
+        int nextProcess = 0;
+        
+        // Gantt entry still being extended
+        String currentProcessId = null;
+        int currentProcessStartTime = 0;
+        int currentProcessEndTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, processArray.length);
+        
+        while (nextProcess < processArray.length || !readyQueue.isEmpty()) {
+            monitor.checkpoint(currentTime, waitingTimes.size());
+            
+            // Add newly arrived processes to the ready queue
+            while (nextProcess < processArray.length &&
+                   processArray[nextProcess].getArrivalTime() <= currentTime) {
+                readyQueue.add(nextProcess);
+                nextProcess++;
+            }
+            
+            if (readyQueue.isEmpty()) {
+                // CPU is idle, jump straight to the next arrival
+                currentTime = processArray[nextProcess].getArrivalTime();
+                continue;
+            }
+            
+            int index = readyQueue.poll();
+            Process process = processArray[index];
+            
+            // Run until the process completes or the next arrival, whichever is first
+            int endTime = currentTime + process.getRemainingTime();
+            if (nextProcess < processArray.length &&
+                processArray[nextProcess].getArrivalTime() < endTime) {
+                endTime = processArray[nextProcess].getArrivalTime();
+            }
+            
+            // Combine with the previous entry if the same process keeps the CPU
+            if (currentProcessId != null && currentProcessId.equals(process.getId()) &&
+                currentProcessEndTime == currentTime) {
+                currentProcessEndTime = endTime;
+            } else {
+                if (currentProcessId != null) {
+                    ganttChart.add(new GanttChartEntry(currentProcessId, currentProcessStartTime, currentProcessEndTime));
+                }
+                currentProcessId = process.getId();
+                currentProcessStartTime = currentTime;
+                currentProcessEndTime = endTime;
+            }
+            
+            if (process.getRemainingTime() == process.getBurstTime()) {
+                metrics.recordFirstRun(process.getArrivalTime(), currentTime);
+            }
+            stats.ran(index, currentTime, endTime, readyQueue.size());
+            process.decreaseRemainingTime(endTime - currentTime);
+            currentTime = endTime;
+            
+            if (process.getRemainingTime() > 0) {
+                // Preempted or still the shortest, let the next pick decide
+                readyQueue.add(index);
+            } else {
+                stats.completed();
+                // Calculate turnaround time
+                int turnaroundTime = currentTime - process.getArrivalTime();
+                turnaroundTimes.put(process.getId(), turnaroundTime);
+                
+                // Calculate waiting time (turnaround time - burst time)
+                int waitingTime = turnaroundTime - process.getBurstTime();
+                waitingTimes.put(process.getId(), waitingTime);
+                metrics.recordCompletion(process.getArrivalTime(), process.getBurstTime(), currentTime);
+            }
+        }
+        
+        if (currentProcessId != null) {
+            ganttChart.add(new GanttChartEntry(currentProcessId, currentProcessStartTime, currentProcessEndTime));
+        }
+        
+        stats.addComparisons(comparisons[0]);
+        stats.finish();
+        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        return schedule(workload, new CompactGanttChart(), Checkpointer.NONE, null);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart,
+                                            Checkpointer checkpointer) {
+        return schedule(workload, ganttChart, checkpointer, null);
+    }
+    
+    @Override
+    public CompactSchedulingResult resume(CompactWorkload workload, SchedulerCheckpoint checkpoint,
+                                          Checkpointer checkpointer) {
+        checkpoint.checkMatches(this, workload);
+        return schedule(workload, checkpoint.getGanttChart().copy(), checkpointer, checkpoint);
+    }
+    
+    private CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart,
+                                             Checkpointer checkpointer, SchedulerCheckpoint resumeFrom) {
+        if (workload.hasIoBursts()) {
+            if (checkpointer != Checkpointer.NONE || resumeFrom != null) {
+                throw new IllegalArgumentException("Workloads with I/O bursts cannot be checkpointed");
+            }
+            return new DiscreteEventScheduler(ReadyQueuePolicy.SRT).schedule(workload, ganttChart);
+        }
+        
+        int[] order = workload.arrivalOrder();
+        int[] remainingTimes = new int[workload.size()];
+        
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        // Ready processes keyed by (remaining time, position in arrival order)
+        LongMinHeap readyQueue = new LongMinHeap(16);
+        
+        long currentTime = 0;
+        int nextProcess = 0;
+        
+        // Gantt entry still being extended
+        int currentProcess = -1;
+        long currentProcessStartTime = 0;
+        long currentProcessEndTime = 0;
+        
+        if (resumeFrom != null) {
+            remainingTimes = resumeFrom.getRemainingTimes().clone();
+            waitingTimes = resumeFrom.getWaitingTimes().clone();
+            turnaroundTimes = resumeFrom.getTurnaroundTimes().clone();
+            metrics = resumeFrom.getMetrics().copy();
+            for (long key : resumeFrom.getReadyQueue()) {
+                readyQueue.add(key);
+            }
+            long[] state = resumeFrom.getState();
+            currentTime = state[0];
+            nextProcess = (int) state[1];
+            currentProcess = (int) state[2];
+            currentProcessStartTime = state[3];
+            currentProcessEndTime = state[4];
+        }
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        long fingerprint = checkpointer != Checkpointer.NONE ? ResultCache.fingerprint(workload) : 0;
+        
+        while (nextProcess < order.length || !readyQueue.isEmpty()) {
+            monitor.checkpoint(currentTime, (int) metrics.getCompletedProcesses());
+            if (checkpointer.isDue()) {
+                checkpointer.save(getConfiguration(), fingerprint,
+                    new long[] {currentTime, nextProcess, currentProcess, currentProcessStartTime, currentProcessEndTime},
+                    readyQueue.toArray(), remainingTimes, waitingTimes, turnaroundTimes, metrics, ganttChart);
+            }
+            
+            // Add newly arrived processes to the ready queue
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int process = order[nextProcess];
+                remainingTimes[process] = workload.getBurstTime(process);
+                readyQueue.add(((long) remainingTimes[process] << 32) | nextProcess);
+                nextProcess++;
+            }
+            
+            if (readyQueue.isEmpty()) {
+                // CPU is idle, jump straight to the next arrival
+                currentTime = workload.getArrivalTime(order[nextProcess]);
+                continue;
+            }
+            
+            int position = (int) readyQueue.poll();
+            int process = order[position];
+            
+            // Run until the process completes or the next arrival, whichever is first
+            long endTime = currentTime + remainingTimes[process];
+            if (nextProcess < order.length &&
+                workload.getArrivalTime(order[nextProcess]) < endTime) {
+                endTime = workload.getArrivalTime(order[nextProcess]);
+            }
+            
+            // Combine with the previous entry if the same process keeps the CPU
+            if (currentProcess == process && currentProcessEndTime == currentTime) {
+                currentProcessEndTime = endTime;
+            } else {
+                if (currentProcess >= 0) {
+                    ganttChart.add(currentProcess, currentProcessStartTime, currentProcessEndTime);
+                }
+                currentProcess = process;
+                currentProcessStartTime = currentTime;
+                currentProcessEndTime = endTime;
+            }
+            
+            if (remainingTimes[process] == workload.getBurstTime(process)) {
+                metrics.recordFirstRun(workload.getArrivalTime(process), currentTime);
+            }
+            stats.ran(process, currentTime, endTime, readyQueue.size());
+            remainingTimes[process] -= (int) (endTime - currentTime);
+            currentTime = endTime;
+            
+            if (remainingTimes[process] > 0) {
+                readyQueue.add(((long) remainingTimes[process] << 32) | position);
+            } else {
+                turnaroundTimes[process] = currentTime - workload.getArrivalTime(process);
+                waitingTimes[process] = turnaroundTimes[process] - workload.getBurstTime(process);
+                metrics.recordCompletion(workload.getArrivalTime(process), workload.getBurstTime(process), currentTime);
+                stats.completed();
+            }
+        }
+        
+        if (currentProcess >= 0) {
+            ganttChart.add(currentProcess, currentProcessStartTime, currentProcessEndTime);
+        }
+        
+        stats.addComparisons(readyQueue.getComparisons());
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+}
@@ -0,0 +1,149 @@
+import java.util.*;
+
+// FCFS Algorithm
+class FCFS implements SchedulingAlgorithm, CompactSchedulingAlgorithm, StreamingSchedulingAlgorithm {
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.FCFS).schedule(processes);
+        }
+        
+        // Create copies of processes to avoid modifying the original list
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort processes by arrival time
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        
+        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        int currentTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, processList.size());
+        // Processes arrived by the current start time, for the stats
+        int arrived = 0;
+        
+        for (int i = 0; i < processList.size(); i++) {
+            monitor.checkpoint(currentTime, waitingTimes.size());
+            Process process = processList.get(i);
+            
+            // If currentTime is less than arrival time, update it
+            if (currentTime < process.getArrivalTime()) {
+                currentTime = process.getArrivalTime();
+            }
+            
+            int startTime = currentTime;
+            int endTime = startTime + process.getBurstTime();
+            
+            // Calculate waiting time (current time - arrival time)
+            int waitingTime = startTime - process.getArrivalTime();
+            waitingTimes.put(process.getId(), waitingTime);
+            
+            // Calculate turnaround time (completion time - arrival time)
+            int turnaroundTime = endTime - process.getArrivalTime();
+            turnaroundTimes.put(process.getId(), turnaroundTime);
+            
+            metrics.recordFirstRun(process.getArrivalTime(), startTime);
+            metrics.recordCompletion(process.getArrivalTime(), process.getBurstTime(), endTime);
+            
+            // Add to gantt chart
+            ganttChart.add(new GanttChartEntry(process.getId(), startTime, endTime));
+            
+            if (SchedulerStats.ENABLED) {
+                while (arrived < processList.size() && processList.get(arrived).getArrivalTime() <= startTime) {
+                    arrived++;
+                }
+                stats.ran(i, startTime, endTime, arrived - i - 1);
+                stats.completed();
+            }
+            
+            // Update current time
+            currentTime = endTime;
+        }
+        
+        stats.finish();
+        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        if (workload.hasIoBursts()) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.FCFS).schedule(workload);
+        }
+        
+        int[] order = workload.arrivalOrder();
+        
+        CompactGanttChart ganttChart = new CompactGanttChart();
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        long currentTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        // Processes arrived by the current start time, for the stats
+        int arrived = 0;
+        
+        for (int i = 0; i < order.length; i++) {
+            monitor.checkpoint(currentTime, i);
+            
+            int process = order[i];
+            int arrivalTime = workload.getArrivalTime(process);
+            if (currentTime < arrivalTime) {
+                currentTime = arrivalTime;
+            }
+            
+            long startTime = currentTime;
+            long endTime = startTime + workload.getBurstTime(process);
+            
+            waitingTimes[process] = startTime - arrivalTime;
+            turnaroundTimes[process] = endTime - arrivalTime;
+            metrics.recordFirstRun(arrivalTime, startTime);
+            metrics.recordCompletion(arrivalTime, workload.getBurstTime(process), endTime);
+            ganttChart.add(process, startTime, endTime);
+            
+            if (SchedulerStats.ENABLED) {
+                while (arrived < order.length && workload.getArrivalTime(order[arrived]) <= startTime) {
+                    arrived++;
+                }
+                stats.ran(process, startTime, endTime, arrived - i - 1);
+                stats.completed();
+            }
+            
+            currentTime = endTime;
+        }
+        
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public void schedule(Iterator<Process> arrivals, SchedulingSink sink) {
+        ArrivalCursor cursor = new ArrivalCursor(arrivals);
+        int currentTime = 0;
+        
+        while (cursor.hasNext()) {
+            Process process = cursor.next();
+            if (currentTime < process.getArrivalTime()) {
+                currentTime = process.getArrivalTime();
+            }
+            
+            int startTime = currentTime;
+            int endTime = startTime + process.getBurstTime();
+            
+            // Each entry is final as soon as the process is dispatched
+            sink.ganttEntry(new GanttChartEntry(process.getId(), startTime, endTime));
+            sink.processCompleted(process, startTime - process.getArrivalTime(),
+                                  endTime - process.getArrivalTime());
+            
+            currentTime = endTime;
+        }
+        
+        sink.finished();
+    }
+}
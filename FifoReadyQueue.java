@@ -0,0 +1,23 @@
+class FifoReadyQueue implements ReadyQueuePolicy.ReadyQueue {
+    private final IntRingQueue queue = new IntRingQueue(16);
+    
+    @Override
+    public void add(int position, int remainingTime) {
+        queue.add(position);
+    }
+    
+    @Override
+    public int poll() {
+        return queue.poll();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+    
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,354 @@
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.*;
+import java.util.List;
+import javax.swing.*;
+
+// Zoomable, pannable Gantt chart. Each lane is one CPU's chart, held as
+// parallel arrays plus a prefix sum of busy time. Painting walks only the
+// entries inside the visible time window; entries narrower than
+// MIN_SEGMENT_PIXELS are drawn as a density band instead, one pixel column
+// at a time, with the busy time of each column read from the prefix sums.
+// That keeps a repaint at O(width * log n) however far out it is zoomed.
+//
+// Mouse wheel zooms around the cursor, dragging pans, double-click fits
+// the whole chart.
+class GanttChartPanel extends JComponent {
+    private static final long serialVersionUID = 1L;
+    
+    private static final int MIN_SEGMENT_PIXELS = 3;
+    private static final int LANE_HEIGHT = 28;
+    private static final int LANE_GAP = 6;
+    private static final int AXIS_HEIGHT = 18;
+    private static final int LABEL_WIDTH = 50;
+    private static final double ZOOM_STEP = 1.25;
+    private static final Color BAND_COLOR = new Color(70, 110, 170);
+    
+    private final HashMap<String, Integer> colorIndexes = new HashMap<>();
+    private Lane[] lanes = new Lane[0];
+    private long endTime;
+    
+    // Visible window: time at the left edge of the chart area, and scale
+    private double viewStart;
+    private double timePerPixel = 1;
+    
+    private int dragX;
+    private double dragViewStart;
+    
+    public GanttChartPanel() {
+        setToolTipText("");
+        setBackground(Color.WHITE);
+        setOpaque(true);
+        
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                dragViewStart = viewStart;
+            }
+            
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                viewStart = dragViewStart - (e.getX() - dragX) * timePerPixel;
+                clampView();
+                repaint();
+            }
+            
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitToWidth();
+                }
+            }
+            
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                // Keep the time under the cursor where it is
+                double anchor = timeAt(e.getX());
+                timePerPixel *= Math.pow(ZOOM_STEP, e.getPreciseWheelRotation());
+                clampView();
+                viewStart = anchor - (e.getX() - LABEL_WIDTH) * timePerPixel;
+                clampView();
+                repaint();
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+        
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                clampView();
+                repaint();
+            }
+        });
+    }
+    
+    public void setGanttChart(List<GanttChartEntry> ganttChart) {
+        setLanes(Collections.singletonList(ganttChart));
+    }
+    
+    // One lane per chart, e.g. one per core of a MultiCoreResult
+    public void setLanes(List<? extends List<GanttChartEntry>> charts) {
+        colorIndexes.clear();
+        lanes = new Lane[charts.size()];
+        endTime = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(charts.get(i));
+            endTime = Math.max(endTime, lanes[i].getEndTime());
+        }
+        revalidate();
+        fitToWidth();
+    }
+    
+    public void clear() {
+        setLanes(Collections.emptyList());
+    }
+    
+    public void fitToWidth() {
+        timePerPixel = Math.max(endTime, 1) / (double) Math.max(chartWidth(), 1);
+        viewStart = 0;
+        repaint();
+    }
+    
+    @Override
+    public Dimension getPreferredSize() {
+        int laneCount = Math.max(lanes.length, 1);
+        return new Dimension(700, AXIS_HEIGHT + laneCount * (LANE_HEIGHT + LANE_GAP) + LANE_GAP);
+    }
+    
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int laneIndex = (e.getY() - AXIS_HEIGHT - LANE_GAP) / (LANE_HEIGHT + LANE_GAP);
+        if (e.getX() < LABEL_WIDTH || laneIndex < 0 || laneIndex >= lanes.length) {
+            return null;
+        }
+        Lane lane = lanes[laneIndex];
+        double from = timeAt(e.getX());
+        double to = from + timePerPixel;
+        int first = lane.firstEndingAfter(from);
+        if (first >= lane.size() || lane.startTimes[first] >= to) {
+            return "Idle at " + (long) from;
+        }
+        int last = lane.firstStartingAtOrAfter(to);
+        if (last - first == 1) {
+            return lane.ids[first] + " (" + lane.startTimes[first] + "-" + lane.endTimes[first] + ")";
+        }
+        return (last - first) + " segments, " + Math.round(100 * lane.busyTime(from, to) / (to - from))
+               + "% busy (" + (long) from + "-" + (long) to + ")";
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            if (lanes.length == 0) {
+                return;
+            }
+            
+            Rectangle clip = g2.getClipBounds();
+            int fromX = Math.max(LABEL_WIDTH, clip == null ? 0 : clip.x);
+            int toX = clip == null ? getWidth() : Math.min(getWidth(), clip.x + clip.width);
+            
+            g2.setColor(Color.DARK_GRAY);
+            for (int i = 0; i < lanes.length; i++) {
+                g2.drawString(lanes.length == 1 ? "CPU" : "CPU " + i, 4, laneY(i) + LANE_HEIGHT / 2 + 5);
+            }
+            
+            g2.clipRect(LABEL_WIDTH, 0, getWidth() - LABEL_WIDTH, getHeight());
+            paintAxis(g2, fromX, toX);
+            for (int i = 0; i < lanes.length; i++) {
+                paintLane(g2, lanes[i], laneY(i), fromX, toX);
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+    
+    private void paintLane(Graphics2D g2, Lane lane, int y, int fromX, int toX) {
+        FontMetrics metrics = g2.getFontMetrics();
+        int x = fromX;
+        int entry = lane.firstEndingAfter(timeAt(x));
+        while (x < toX && entry < lane.size()) {
+            int startX = pixelAt(lane.startTimes[entry]);
+            int endX = pixelAt(lane.endTimes[entry]);
+            if (startX >= toX) {
+                break;
+            }
+            
+            if (endX - startX >= MIN_SEGMENT_PIXELS) {
+                // Wide enough to draw on its own
+                int left = Math.max(startX, fromX);
+                int right = Math.min(endX, toX);
+                g2.setColor(colorFor(lane.ids[entry]));
+                g2.fillRect(left, y, right - left, LANE_HEIGHT);
+                g2.setColor(Color.GRAY);
+                g2.drawRect(startX, y, endX - startX, LANE_HEIGHT);
+                String label = lane.ids[entry];
+                int labelWidth = metrics.stringWidth(label);
+                if (labelWidth + 4 < right - left) {
+                    g2.setColor(Color.BLACK);
+                    g2.drawString(label, left + (right - left - labelWidth) / 2, y + LANE_HEIGHT / 2 + 5);
+                }
+                x = Math.max(x, endX);
+                entry++;
+            } else {
+                // Too narrow; shade this pixel column by how busy it is
+                int column = Math.max(x, startX);
+                double from = timeAt(column);
+                double to = from + timePerPixel;
+                double busy = Math.min(1, lane.busyTime(from, to) / timePerPixel);
+                int height = Math.max(1, (int) Math.round(busy * LANE_HEIGHT));
+                g2.setColor(BAND_COLOR);
+                g2.fillRect(column, y + LANE_HEIGHT - height, 1, height);
+                x = column + 1;
+                entry = lane.firstEndingAfter(timeAt(x));
+            }
+        }
+    }
+    
+    private void paintAxis(Graphics2D g2, int fromX, int toX) {
+        // Tick spacing of 1, 2 or 5 times a power of ten, at least 80 pixels apart
+        double minStep = 80 * timePerPixel;
+        double step = Math.pow(10, Math.floor(Math.log10(Math.max(minStep, 1))));
+        if (step * 2 >= minStep) {
+            step *= 2;
+        } else if (step * 5 >= minStep) {
+            step *= 5;
+        } else {
+            step *= 10;
+        }
+        step = Math.max(1, Math.ceil(step));
+        while (step < minStep) {
+            step *= 2;
+        }
+        
+        g2.setColor(Color.GRAY);
+        g2.drawLine(fromX, AXIS_HEIGHT, toX, AXIS_HEIGHT);
+        double first = Math.ceil(timeAt(fromX - 40) / step) * step;
+        for (double t = Math.max(0, first); t <= timeAt(toX); t += step) {
+            int x = pixelAt((long) t);
+            g2.drawLine(x, AXIS_HEIGHT - 4, x, AXIS_HEIGHT);
+            g2.drawString(String.valueOf((long) t), x + 2, AXIS_HEIGHT - 5);
+        }
+    }
+    
+    private Color colorFor(String processId) {
+        Integer index = colorIndexes.get(processId);
+        if (index == null) {
+            index = colorIndexes.size();
+            colorIndexes.put(processId, index);
+        }
+        // Golden-ratio hue steps keep neighbouring processes apart
+        return Color.getHSBColor((float) ((index * 0.618033988749895) % 1), 0.45f, 0.95f);
+    }
+    
+    private int laneY(int lane) {
+        return AXIS_HEIGHT + LANE_GAP + lane * (LANE_HEIGHT + LANE_GAP);
+    }
+    
+    private double timeAt(int x) {
+        return viewStart + (x - LABEL_WIDTH) * timePerPixel;
+    }
+    
+    private int pixelAt(long time) {
+        return (int) Math.max(Integer.MIN_VALUE / 2,
+                              Math.min(Integer.MAX_VALUE / 2, Math.floor(LABEL_WIDTH + (time - viewStart) / timePerPixel)));
+    }
+    
+    private int chartWidth() {
+        return (getWidth() > 0 ? getWidth() : getPreferredSize().width) - LABEL_WIDTH;
+    }
+    
+    // Zoomed in no further than 20 pixels per time unit and out no further
+    // than the whole chart; the window stays over the chart
+    private void clampView() {
+        double maxTimePerPixel = Math.max(endTime, 1) / (double) Math.max(chartWidth(), 1);
+        timePerPixel = Math.max(0.05, Math.min(timePerPixel, maxTimePerPixel));
+        double maxStart = endTime - chartWidth() * timePerPixel;
+        viewStart = Math.max(0, Math.min(viewStart, maxStart));
+    }
+    
+    // One chart's entries in time order, with busyPrefix[i] the total
+    // length of entries 0..i-1
+    private static class Lane {
+        private final String[] ids;
+        private final long[] startTimes;
+        private final long[] endTimes;
+        private final long[] busyPrefix;
+        
+        Lane(List<GanttChartEntry> ganttChart) {
+            int size = ganttChart.size();
+            ids = new String[size];
+            startTimes = new long[size];
+            endTimes = new long[size];
+            busyPrefix = new long[size + 1];
+            for (int i = 0; i < size; i++) {
+                GanttChartEntry entry = ganttChart.get(i);
+                ids[i] = entry.getProcessId();
+                startTimes[i] = entry.getStartTime();
+                endTimes[i] = entry.getEndTime();
+                busyPrefix[i + 1] = busyPrefix[i] + (endTimes[i] - startTimes[i]);
+            }
+        }
+        
+        int size() {
+            return ids.length;
+        }
+        
+        long getEndTime() {
+            return ids.length == 0 ? 0 : endTimes[ids.length - 1];
+        }
+        
+        // Index of the first entry that ends after time, or size()
+        int firstEndingAfter(double time) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (endTimes[mid] > time) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        
+        // Index of the first entry that starts at or after time, or size()
+        int firstStartingAtOrAfter(double time) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startTimes[mid] >= time) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        
+        // Time the CPU is busy within [from, to): whole entries from the
+        // prefix sums, minus the parts of the two edge entries outside it
+        double busyTime(double from, double to) {
+            int first = firstEndingAfter(from);
+            int last = firstStartingAtOrAfter(to);
+            if (first >= last) {
+                return 0;
+            }
+            double busy = busyPrefix[last] - busyPrefix[first];
+            busy -= Math.max(0, from - startTimes[first]);
+            busy -= Math.max(0, endTimes[last - 1] - to);
+            return busy;
+        }
+    }
+}
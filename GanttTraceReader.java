@@ -0,0 +1,157 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Reads a trace written by GanttTraceWriter. Only the footer is loaded up
+// front; segments are decoded block by block on demand.
+class GanttTraceReader implements Closeable {
+    // Receives decoded segments
+    interface SegmentVisitor {
+        void visit(int processIndex, long startTime, long endTime);
+    }
+    
+    private final FileChannel channel;
+    private final int blockSize;
+    private final String[] processIds;
+    private final long[] blockStartTimes;
+    private final long[] blockEndTimes;
+    private final int[] blockSegmentCounts;
+    private final ByteBuffer block;
+    private long segmentCount;
+    
+    public GanttTraceReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readAt(0, GanttTraceWriter.HEADER_SIZE);
+            if (header.getInt() != GanttTraceWriter.MAGIC) {
+                throw new IOException("Not a Gantt trace file: " + path);
+            }
+            int version = header.getInt();
+            if (version != GanttTraceWriter.VERSION) {
+                throw new IOException("Unsupported Gantt trace version: " + version);
+            }
+            blockSize = header.getInt();
+            block = ByteBuffer.allocate(blockSize);
+            
+            ByteBuffer trailer = readAt(channel.size() - 12, 12);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != GanttTraceWriter.MAGIC) {
+                throw new IOException("Truncated Gantt trace file: " + path);
+            }
+            ByteBuffer footer = readAt(footerOffset, (int) (channel.size() - 12 - footerOffset));
+            
+            processIds = new String[footer.getInt()];
+            for (int i = 0; i < processIds.length; i++) {
+                byte[] bytes = new byte[footer.getInt()];
+                footer.get(bytes);
+                processIds[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            
+            int blocks = footer.getInt();
+            blockStartTimes = new long[blocks];
+            blockEndTimes = new long[blocks];
+            blockSegmentCounts = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                blockStartTimes[i] = footer.getLong();
+                blockEndTimes[i] = footer.getLong();
+                blockSegmentCounts[i] = footer.getInt();
+                segmentCount += blockSegmentCounts[i];
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+    
+    public long getSegmentCount() {
+        return segmentCount;
+    }
+    
+    public int getProcessCount() {
+        return processIds.length;
+    }
+    
+    public String getProcessId(int processIndex) {
+        return processIds[processIndex];
+    }
+    
+    // End time of the last segment, or 0 for an empty trace
+    public long getEndTime() {
+        return blockEndTimes.length == 0 ? 0 : blockEndTimes[blockEndTimes.length - 1];
+    }
+    
+    // Visits every segment overlapping [fromTime, toTime) in time order
+    public void forEachSegment(long fromTime, long toTime, SegmentVisitor visitor) throws IOException {
+        // First block whose last segment ends after fromTime
+        int low = 0;
+        int high = blockEndTimes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blockEndTimes[mid] <= fromTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        
+        for (int b = low; b < blockStartTimes.length && blockStartTimes[b] < toTime; b++) {
+            readBlock(b);
+            long endTime = blockStartTimes[b];
+            for (int s = 0; s < blockSegmentCounts[b]; s++) {
+                int processIndex = (int) GanttTraceWriter.getVarLong(block);
+                long startTime = endTime + GanttTraceWriter.getVarLong(block);
+                endTime = startTime + GanttTraceWriter.getVarLong(block);
+                if (startTime >= toTime) {
+                    return;
+                }
+                if (endTime > fromTime) {
+                    visitor.visit(processIndex, startTime, endTime);
+                }
+            }
+        }
+    }
+    
+    // Segments overlapping [fromTime, toTime) as GanttChartEntry objects
+    public ArrayList<GanttChartEntry> readEntries(long fromTime, long toTime) throws IOException {
+        ArrayList<GanttChartEntry> entries = new ArrayList<>();
+        forEachSegment(fromTime, toTime, (processIndex, startTime, endTime) ->
+            entries.add(new GanttChartEntry(processIds[processIndex], (int) startTime, (int) endTime)));
+        return entries;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private void readBlock(int blockNumber) throws IOException {
+        block.clear();
+        long position = GanttTraceWriter.HEADER_SIZE + (long) blockNumber * blockSize;
+        while (block.hasRemaining()) {
+            if (channel.read(block, position + block.position()) < 0) {
+                throw new IOException("Truncated Gantt trace block " + blockNumber);
+            }
+        }
+        block.flip();
+        block.position(GanttTraceWriter.BLOCK_HEADER_SIZE);
+    }
+    
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        if (position < 0 || length < 0) {
+            throw new IOException("Corrupt Gantt trace file");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated Gantt trace file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
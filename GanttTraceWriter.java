@@ -0,0 +1,238 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Binary Gantt trace file layout:
+//
+//   header   magic, version, block size
+//   blocks   fixed-size blocks, each: segment count (int), start time of its
+//            first segment (long), then per segment three varints:
+//            process index, gap since the previous segment's end, run length
+//   footer   process id table, then the sparse time index: first start and
+//            last end time of every block
+//   trailer  footer offset (long), magic
+//
+// Every block decodes on its own, so a reader binary-searches the index and
+// only decodes the blocks that overlap the requested time window.
+class GanttTraceWriter implements Closeable {
+    static final int MAGIC = 0x474E5454; // "GNTT"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int BLOCK_HEADER_SIZE = 12;
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+    // Three varints: an int index and two longs
+    private static final int MAX_SEGMENT_SIZE = 5 + 10 + 10;
+    
+    private final FileChannel channel;
+    private final ByteBuffer block;
+    private final Map<String, Integer> processIndices = new HashMap<>();
+    private final ArrayList<String> processIds = new ArrayList<>();
+    private final ArrayList<long[]> index = new ArrayList<>();
+    private int segmentsInBlock;
+    private long blockStartTime;
+    private long lastEndTime;
+    
+    public GanttTraceWriter(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+    
+    public GanttTraceWriter(Path path, int blockSize) throws IOException {
+        if (blockSize < BLOCK_HEADER_SIZE + MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Block size too small: " + blockSize);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING);
+        block = ByteBuffer.allocate(blockSize);
+        
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(blockSize).flip();
+        writeFully(header);
+        startBlock();
+    }
+    
+    public static void write(CompactSchedulingResult result, Path path) throws IOException {
+        CompactWorkload workload = result.getWorkload();
+        CompactGanttChart ganttChart = result.getGanttChart();
+        if (!ganttChart.isRecordingEntries()) {
+            throw new IllegalArgumentException("Gantt chart entries were not recorded");
+        }
+        try (GanttTraceWriter writer = new GanttTraceWriter(path)) {
+            // Keep the workload's indices so the trace lines up with it, even
+            // where ids repeat
+            for (int i = 0; i < workload.size(); i++) {
+                writer.addProcessId(workload.getId(i));
+            }
+            for (int i = 0; i < ganttChart.size(); i++) {
+                writer.add(ganttChart.getProcessIndex(i), ganttChart.getStartTime(i), ganttChart.getEndTime(i));
+            }
+        }
+    }
+    
+    public static void write(List<GanttChartEntry> ganttChart, Path path) throws IOException {
+        try (GanttTraceWriter writer = new GanttTraceWriter(path)) {
+            for (GanttChartEntry entry : ganttChart) {
+                writer.add(entry.getProcessId(), entry.getStartTime(), entry.getEndTime());
+            }
+        }
+    }
+    
+    // Returns the index for a process id, adding it to the id table if new
+    public int processIndex(String processId) {
+        Integer processIndex = processIndices.get(processId);
+        if (processIndex == null) {
+            processIndex = processIds.size();
+            processIndices.put(processId, processIndex);
+            processIds.add(processId);
+        }
+        return processIndex;
+    }
+    
+    // Adds the process id to the id table even if it is there already, and
+    // returns its index. processIndex keeps returning the first index.
+    public int addProcessId(String processId) {
+        processIndices.putIfAbsent(processId, processIds.size());
+        processIds.add(processId);
+        return processIds.size() - 1;
+    }
+    
+    public void add(String processId, long startTime, long endTime) throws IOException {
+        add(processIndex(processId), startTime, endTime);
+    }
+    
+    // Segments must be added in time order and must not overlap
+    public void add(int processIndex, long startTime, long endTime) throws IOException {
+        if (processIndex < 0 || processIndex >= processIds.size()) {
+            throw new IllegalArgumentException("Unknown process index: " + processIndex);
+        }
+        if (startTime < lastEndTime || endTime < startTime) {
+            throw new IllegalArgumentException("Segments must be in time order: " + startTime + "-" + endTime
+                                               + " after a segment ending at " + lastEndTime);
+        }
+        if (block.remaining() < MAX_SEGMENT_SIZE) {
+            finishBlock();
+            startBlock();
+        }
+        if (segmentsInBlock == 0) {
+            blockStartTime = startTime;
+            lastEndTime = startTime;
+        }
+        putVarLong(block, processIndex);
+        putVarLong(block, startTime - lastEndTime);
+        putVarLong(block, endTime - startTime);
+        segmentsInBlock++;
+        lastEndTime = endTime;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            if (segmentsInBlock > 0) {
+                finishBlock();
+            }
+            long footerOffset = channel.position();
+            
+            // Process id table
+            ByteArrayBuilder footer = new ByteArrayBuilder();
+            footer.putInt(processIds.size());
+            for (String processId : processIds) {
+                byte[] bytes = processId.getBytes(StandardCharsets.UTF_8);
+                footer.putInt(bytes.length);
+                footer.put(bytes);
+            }
+            
+            // Sparse time index, one entry per block
+            footer.putInt(index.size());
+            for (long[] entry : index) {
+                footer.putLong(entry[0]);
+                footer.putLong(entry[1]);
+                footer.putInt((int) entry[2]);
+            }
+            
+            footer.putLong(footerOffset);
+            footer.putInt(MAGIC);
+            writeFully(footer.toByteBuffer());
+        } finally {
+            channel.close();
+        }
+    }
+    
+    private void startBlock() {
+        block.clear();
+        block.position(BLOCK_HEADER_SIZE);
+        segmentsInBlock = 0;
+    }
+    
+    private void finishBlock() throws IOException {
+        index.add(new long[]{blockStartTime, lastEndTime, segmentsInBlock});
+        block.putInt(0, segmentsInBlock);
+        block.putLong(4, blockStartTime);
+        // Pad to the fixed block size so block i always starts at a known offset
+        Arrays.fill(block.array(), block.position(), block.capacity(), (byte) 0);
+        block.position(0).limit(block.capacity());
+        writeFully(block);
+    }
+    
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+    
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+    
+    // Small growable byte buffer for the footer
+    private static class ByteArrayBuilder {
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+        
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+        
+        void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+        
+        void put(byte[] bytes) {
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+        
+        ByteBuffer toByteBuffer() {
+            return buffer.flip();
+        }
+        
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+import java.util.*;
+
+// Heap-based SJF Algorithm (Non-preemptive)
+// Gives the same schedule as SJF, but takes arrivals with a cursor over the
+// sorted list and picks jobs from a priority queue instead of re-sorting
+class HeapSJF implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.SJF).schedule(processes);
+        }
+        
+        // Create copies of processes
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort by arrival time
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        Process[] processArray = processList.toArray(new Process[0]);
+        
+        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        // Arrived processes ordered by burst time, ties broken by position in
+        // arrival order (the order SJF's stable sort keeps them in)
+        long[] comparisons = new long[1];
+        PriorityQueue<Integer> arrivedProcesses = new PriorityQueue<>((a, b) -> {
+            if (SchedulerStats.ENABLED) {
+                comparisons[0]++;
+            }
+            int byBurst = Integer.compare(processArray[a].getBurstTime(),
+                                          processArray[b].getBurstTime());
+            return byBurst != 0 ? byBurst : Integer.compare(a, b);
+        });
+        
+        int currentTime = 0;
+        int nextProcess = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, processArray.length);
+        
+        while (nextProcess < processArray.length || !arrivedProcesses.isEmpty()) {
+            monitor.checkpoint(currentTime, waitingTimes.size());
+            
+            // Add newly arrived processes to the queue
+            while (nextProcess < processArray.length &&
+                   processArray[nextProcess].getArrivalTime() <= currentTime) {
+                arrivedProcesses.add(nextProcess);
+                nextProcess++;
+            }
+            
+            if (arrivedProcesses.isEmpty()) {
+                // No process has arrived yet, move time to next arrival
+                currentTime = processArray[nextProcess].getArrivalTime();
+                continue;
+            }
+            
+            // Take shortest job
+            int index = arrivedProcesses.poll();
+            Process shortestJob = processArray[index];
+            
+            int startTime = currentTime;
+            int endTime = startTime + shortestJob.getBurstTime();
+            
+            // Calculate waiting time
+            int waitingTime = startTime - shortestJob.getArrivalTime();
+            waitingTimes.put(shortestJob.getId(), waitingTime);
+            
+            // Calculate turnaround time
+            int turnaroundTime = endTime - shortestJob.getArrivalTime();
+            turnaroundTimes.put(shortestJob.getId(), turnaroundTime);
+            
+            metrics.recordFirstRun(shortestJob.getArrivalTime(), startTime);
+            metrics.recordCompletion(shortestJob.getArrivalTime(), shortestJob.getBurstTime(), endTime);
+            
+            // Add to gantt chart
+            ganttChart.add(new GanttChartEntry(shortestJob.getId(), startTime, endTime));
+            stats.ran(index, startTime, endTime, arrivedProcesses.size());
+            stats.completed();
+            
+            // Update current time
+            currentTime = endTime;
+        }
+        
+        stats.addComparisons(comparisons[0]);
+        stats.finish();
+        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        if (workload.hasIoBursts()) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.SJF).schedule(workload);
+        }
+        
+        int[] order = workload.arrivalOrder();
+        
+        CompactGanttChart ganttChart = new CompactGanttChart();
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        // Arrived processes keyed by (burst time, position in arrival order)
+        LongMinHeap arrivedProcesses = new LongMinHeap(16);
+        
+        long currentTime = 0;
+        int nextProcess = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        
+        while (nextProcess < order.length || !arrivedProcesses.isEmpty()) {
+            monitor.checkpoint(currentTime, (int) metrics.getCompletedProcesses());
+            
+            // Add newly arrived processes to the queue
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                arrivedProcesses.add(((long) workload.getBurstTime(order[nextProcess]) << 32) | nextProcess);
+                nextProcess++;
+            }
+            
+            if (arrivedProcesses.isEmpty()) {
+                // No process has arrived yet, move time to next arrival
+                currentTime = workload.getArrivalTime(order[nextProcess]);
+                continue;
+            }
+            
+            // Take shortest job
+            int process = order[(int) arrivedProcesses.poll()];
+            int arrivalTime = workload.getArrivalTime(process);
+            
+            long startTime = currentTime;
+            long endTime = startTime + workload.getBurstTime(process);
+            
+            waitingTimes[process] = startTime - arrivalTime;
+            turnaroundTimes[process] = endTime - arrivalTime;
+            metrics.recordFirstRun(arrivalTime, startTime);
+            metrics.recordCompletion(arrivalTime, workload.getBurstTime(process), endTime);
+            ganttChart.add(process, startTime, endTime);
+            stats.ran(process, startTime, endTime, arrivedProcesses.size());
+            stats.completed();
+            
+            currentTime = endTime;
+        }
+        
+        stats.addComparisons(arrivedProcesses.getComparisons());
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+}
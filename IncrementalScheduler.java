@@ -0,0 +1,278 @@
+import java.util.*;
+
+// Re-schedules an edited workload from the point the edit can first make a
+// difference instead of from time 0, for what-if sessions where one arrival
+// or burst time at a time is changed in a large workload.
+//
+// Every run keeps snapshots of the algorithm's state at intervals, through
+// the same hooks as checkpointing. A process is invisible to the algorithm
+// until it arrives, so when the next workload differs from the last one the
+// run resumes from the last snapshot taken before the earliest old or new
+// arrival time of any changed process. The snapshots are kept small: the
+// loop state, the ready queue, the remaining times of the processes in the
+// system and the metrics. Processes that completed before a snapshot have
+// the same results in both runs, and the Gantt chart up to it is the same,
+// so those come from the last run's result, whose unchanged prefix of
+// GanttChartEntry objects and per-process times is reused as well.
+//
+// There are at most MAX_SNAPSHOTS; when there would be more, every other one
+// is dropped and the interval doubles. The first interval grows with the
+// workload, which keeps the cost of taking snapshots to a few operations per
+// scheduling step.
+//
+// Keeps the last workload and result, so it serves one session at a time.
+// Workloads with I/O bursts, which cannot be checkpointed, are always
+// scheduled from the start.
+class IncrementalScheduler implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    private static final int MAX_SNAPSHOTS = 64;
+    private static final long MIN_SNAPSHOT_INTERVAL = 1024;
+    
+    private final CheckpointableSchedulingAlgorithm algorithm;
+    
+    // The last run, whose snapshots are all valid for lastWorkload
+    private CompactWorkload lastWorkload;
+    private CompactSchedulingResult lastResult;
+    private SchedulingResult lastObjectResult;
+    private ArrayList<Snapshot> snapshots = new ArrayList<>();
+    private long snapshotInterval;
+    
+    // Where the last run started from, and how many Gantt entries it reused
+    private long lastResumeTime = -1;
+    private int reusedEntries;
+    
+    public IncrementalScheduler(CheckpointableSchedulingAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+    
+    // Same as the algorithm's, since the results are the same
+    @Override
+    public String getConfiguration() {
+        return algorithm.getConfiguration();
+    }
+    
+    // Simulated time the last run resumed from, or -1 if it started from the beginning
+    public synchronized long getLastResumeTime() {
+        return lastResumeTime;
+    }
+    
+    public synchronized int getSnapshotCount() {
+        return snapshots.size();
+    }
+    
+    // Forgets the last run, so the next one starts from the beginning
+    public synchronized void clear() {
+        lastWorkload = null;
+        lastResult = null;
+        lastObjectResult = null;
+        snapshots = new ArrayList<>();
+    }
+    
+    @Override
+    public synchronized SchedulingResult schedule(ArrayList<Process> processes) {
+        CompactSchedulingResult previous = lastResult;
+        SchedulingResult previousObjectResult = lastObjectResult;
+        CompactSchedulingResult result = schedule(CompactWorkload.fromProcesses(processes));
+        if (result == previous && previousObjectResult != null) {
+            lastObjectResult = previousObjectResult;
+        } else if (lastResumeTime >= 0 && previousObjectResult != null) {
+            lastObjectResult = reuse(result, previous, previousObjectResult, reusedEntries);
+        } else {
+            lastObjectResult = result.toSchedulingResult();
+        }
+        return lastObjectResult;
+    }
+    
+    @Override
+    public synchronized CompactSchedulingResult schedule(CompactWorkload workload) {
+        lastObjectResult = null;
+        lastResumeTime = -1;
+        reusedEntries = 0;
+        if (workload.hasIoBursts()) {
+            clear();
+            return algorithm.schedule(workload);
+        }
+        
+        Snapshot resumeFrom = null;
+        if (lastWorkload != null && lastWorkload.size() == workload.size()) {
+            long affectedTime = earliestChange(lastWorkload, workload);
+            if (affectedTime == Long.MAX_VALUE) {
+                return lastResult;
+            }
+            for (Snapshot snapshot : snapshots) {
+                if (snapshot.state[0] < affectedTime) {
+                    resumeFrom = snapshot;
+                }
+            }
+        }
+        
+        Recorder recorder;
+        CompactSchedulingResult result;
+        if (resumeFrom == null) {
+            recorder = new Recorder(new ArrayList<>(), Math.max(MIN_SNAPSHOT_INTERVAL, workload.size() / 8), 0);
+            result = algorithm.schedule(workload, new CompactGanttChart(), recorder);
+        } else {
+            // Snapshots up to the one resumed from still hold for the new workload
+            ArrayList<Snapshot> kept = new ArrayList<>(snapshots.subList(0, snapshots.indexOf(resumeFrom) + 1));
+            recorder = new Recorder(kept, snapshotInterval, resumeFrom.iteration);
+            result = algorithm.resume(workload, toCheckpoint(resumeFrom, workload), recorder);
+            lastResumeTime = resumeFrom.state[0];
+            reusedEntries = resumeFrom.ganttEntries;
+        }
+        
+        // Only kept once the run has finished, so a cancelled run leaves the last one usable
+        lastWorkload = workload;
+        lastResult = result;
+        snapshots = recorder.snapshots;
+        snapshotInterval = recorder.interval;
+        return result;
+    }
+    
+    // Earliest arrival time, old or new, of a process that differs between
+    // the workloads, or Long.MAX_VALUE if none does
+    private static long earliestChange(CompactWorkload previous, CompactWorkload workload) {
+        long earliest = Long.MAX_VALUE;
+        for (int i = 0; i < workload.size(); i++) {
+            if (previous.getArrivalTime(i) != workload.getArrivalTime(i)
+                || previous.getBurstTime(i) != workload.getBurstTime(i)
+                || previous.getPriority(i) != workload.getPriority(i)
+                || !previous.getId(i).equals(workload.getId(i))) {
+                earliest = Math.min(earliest, Math.min(previous.getArrivalTime(i), workload.getArrivalTime(i)));
+            }
+        }
+        return earliest;
+    }
+    
+    // Full checkpoint for resuming on the new workload, with the per-process
+    // times and Gantt chart taken from the last run
+    private SchedulerCheckpoint toCheckpoint(Snapshot snapshot, CompactWorkload workload) {
+        int[] remainingTimes = new int[workload.size()];
+        for (int i = 0; i < snapshot.processes.length; i++) {
+            remainingTimes[snapshot.processes[i]] = snapshot.remainingTimes[i];
+        }
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        for (int i = 0; i < workload.size(); i++) {
+            waitingTimes[i] = lastResult.getWaitingTime(i);
+            turnaroundTimes[i] = lastResult.getTurnaroundTime(i);
+        }
+        CompactGanttChart ganttChart = lastResult.getGanttChart().copyPrefix(
+            snapshot.ganttEntries, snapshot.lastProcessIndex, snapshot.lastEndTime);
+        return new SchedulerCheckpoint(snapshot.configuration, ResultCache.fingerprint(workload),
+                                       workload.size(), snapshot.state, snapshot.readyQueue, remainingTimes,
+                                       waitingTimes, turnaroundTimes, snapshot.metrics, ganttChart);
+    }
+    
+    // Builds the object result on top of the last one: Gantt entries before
+    // the resume point are shared, and only the times that changed are put
+    // into copies of the maps
+    private static SchedulingResult reuse(CompactSchedulingResult result, CompactSchedulingResult previous,
+                                          SchedulingResult previousObjectResult, int reusedEntries) {
+        CompactWorkload workload = result.getWorkload();
+        CompactGanttChart ganttChart = result.getGanttChart();
+        ArrayList<GanttChartEntry> previousEntries = previousObjectResult.getGanttChart();
+        // The last entry before the resume point may since have been extended
+        if (reusedEntries > 0
+            && previousEntries.get(reusedEntries - 1).getEndTime() != ganttChart.getEndTime(reusedEntries - 1)) {
+            reusedEntries--;
+        }
+        ArrayList<GanttChartEntry> entries = new ArrayList<>(ganttChart.size());
+        entries.addAll(previousEntries.subList(0, reusedEntries));
+        for (int i = reusedEntries; i < ganttChart.size(); i++) {
+            entries.add(new GanttChartEntry(workload.getId(ganttChart.getProcessIndex(i)),
+                                            (int) ganttChart.getStartTime(i), (int) ganttChart.getEndTime(i)));
+        }
+        
+        // A renamed process would leave its old key behind, so then every
+        // time is put into empty maps
+        boolean renamed = false;
+        for (int i = 0; i < workload.size() && !renamed; i++) {
+            renamed = !workload.getId(i).equals(previous.getWorkload().getId(i));
+        }
+        Map<String, Integer> waitingTimes = renamed ? new HashMap<>()
+                                                    : new HashMap<>(previousObjectResult.getWaitingTimes());
+        Map<String, Integer> turnaroundTimes = renamed ? new HashMap<>()
+                                                       : new HashMap<>(previousObjectResult.getTurnaroundTimes());
+        for (int i = 0; i < workload.size(); i++) {
+            if (renamed || result.getWaitingTime(i) != previous.getWaitingTime(i)
+                || result.getTurnaroundTime(i) != previous.getTurnaroundTime(i)) {
+                waitingTimes.put(workload.getId(i), (int) result.getWaitingTime(i));
+                turnaroundTimes.put(workload.getId(i), (int) result.getTurnaroundTime(i));
+            }
+        }
+        return new SchedulingResult(entries, waitingTimes, turnaroundTimes, result.getMetrics());
+    }
+    
+    // Algorithm state at the top of one scheduling loop iteration
+    private static class Snapshot {
+        // As given by the loop, which may be an algorithm delegated to
+        final String configuration;
+        final long iteration;
+        final long[] state;
+        final long[] readyQueue;
+        // Processes with time left, and how much
+        final int[] processes;
+        final int[] remainingTimes;
+        final LatencyMetrics metrics;
+        final int ganttEntries;
+        final int lastProcessIndex;
+        final long lastEndTime;
+        
+        Snapshot(String configuration, long iteration, long[] state, long[] readyQueue, int[] allRemainingTimes,
+                 LatencyMetrics metrics, CompactGanttChart ganttChart) {
+            this.configuration = configuration;
+            this.iteration = iteration;
+            this.state = state;
+            this.readyQueue = readyQueue;
+            int count = 0;
+            for (int remainingTime : allRemainingTimes) {
+                if (remainingTime != 0) {
+                    count++;
+                }
+            }
+            processes = new int[count];
+            remainingTimes = new int[count];
+            count = 0;
+            for (int i = 0; i < allRemainingTimes.length; i++) {
+                if (allRemainingTimes[i] != 0) {
+                    processes[count] = i;
+                    remainingTimes[count] = allRemainingTimes[i];
+                    count++;
+                }
+            }
+            this.metrics = metrics.copy();
+            this.ganttEntries = ganttChart.size();
+            this.lastProcessIndex = ganttChart.getLastProcessIndex();
+            this.lastEndTime = ganttChart.getLastEndTime();
+        }
+    }
+    
+    // Takes a snapshot every interval loop iterations instead of writing
+    // checkpoints to disk
+    private static class Recorder extends Checkpointer {
+        private final ArrayList<Snapshot> snapshots;
+        private long interval;
+        private long iteration;
+        
+        Recorder(ArrayList<Snapshot> snapshots, long interval, long iteration) {
+            this.snapshots = snapshots;
+            this.interval = interval;
+            this.iteration = iteration;
+        }
+        
+        @Override
+        public boolean isDue() {
+            return ++iteration % interval == 0;
+        }
+        
+        @Override
+        public void save(String configuration, long workloadFingerprint, long[] state, long[] readyQueue,
+                         int[] remainingTimes, long[] waitingTimes, long[] turnaroundTimes,
+                         LatencyMetrics metrics, CompactGanttChart ganttChart) {
+            snapshots.add(new Snapshot(configuration, iteration, state, readyQueue, remainingTimes, metrics, ganttChart));
+            if (snapshots.size() > MAX_SNAPSHOTS) {
+                interval *= 2;
+                snapshots.removeIf(snapshot -> snapshot.iteration % interval != 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+// FIFO queue of process indices backed by a growable ring buffer
+class IntRingQueue {
+    private int[] elements;
+    private int head;
+    private int size;
+    
+    public IntRingQueue(int capacity) {
+        elements = new int[Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1];
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void add(int value) {
+        if (size == elements.length) {
+            int[] grown = new int[elements.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = elements[(head + i) & (elements.length - 1)];
+            }
+            elements = grown;
+            head = 0;
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+    
+    // index-th value from the head
+    public int get(int index) {
+        return elements[(head + index) & (elements.length - 1)];
+    }
+    
+    // Contents from head to tail
+    public int[] toArray() {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        return values;
+    }
+    
+    public int poll() {
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+}
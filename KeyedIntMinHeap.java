@@ -0,0 +1,92 @@
+import java.util.*;
+
+// Binary min-heap of int values ordered by a long key, ties broken by the
+// value. For keys that need all 64 bits and so cannot be packed with the
+// value into one long for LongMinHeap.
+class KeyedIntMinHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+    // Only counted when SchedulerStats is enabled
+    private long comparisons;
+    
+    public KeyedIntMinHeap(int capacity) {
+        keys = new long[Math.max(capacity, 1)];
+        values = new int[keys.length];
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public long peekKey() {
+        return keys[0];
+    }
+    
+    public int peekValue() {
+        return values[0];
+    }
+    
+    public long getComparisons() {
+        return comparisons;
+    }
+    
+    public void add(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (SchedulerStats.ENABLED) {
+                comparisons++;
+            }
+            if (!less(key, value, keys[parent], values[parent])) {
+                break;
+            }
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+    
+    // Removes the smallest entry and returns its value
+    public int poll() {
+        int result = values[0];
+        long lastKey = keys[--size];
+        int lastValue = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (SchedulerStats.ENABLED) {
+                comparisons += child + 1 < size ? 2 : 1;
+            }
+            if (child + 1 < size && less(keys[child + 1], values[child + 1], keys[child], values[child])) {
+                child++;
+            }
+            if (!less(keys[child], values[child], lastKey, lastValue)) {
+                break;
+            }
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        if (size > 0) {
+            keys[i] = lastKey;
+            values[i] = lastValue;
+        }
+        return result;
+    }
+    
+    private static boolean less(long key, int value, long otherKey, int otherValue) {
+        return key < otherKey || (key == otherKey && value < otherValue);
+    }
+}
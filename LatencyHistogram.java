@@ -0,0 +1,138 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.text.DecimalFormat;
+
+// Histogram of non-negative longs with log-scaled buckets, in the style of
+// HdrHistogram: values below SUB_BUCKETS get a bucket each, and every power of
+// two above that is split into SUB_BUCKETS / 2 linear sub-buckets. A
+// percentile is therefore within 1/64 of the true value, and the whole
+// range of a long fits in under 4,000 counters.
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    
+    private final long[] counts = new long[indexOf(Long.MAX_VALUE) + 1];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative: " + value);
+        }
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    // Exact, from the running sum; NaN when nothing was recorded
+    public double getMean() {
+        return (double) sum / count;
+    }
+    
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+    
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+    
+    // Smallest value that at least percentile percent of the recorded values
+    // are at or below, rounded up to the end of its bucket
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+    
+    public String summary() {
+        DecimalFormat df = new DecimalFormat("#.##");
+        return "mean " + df.format(getMean())
+               + ", p50 " + getValueAtPercentile(50)
+               + ", p90 " + getValueAtPercentile(90)
+               + ", p99 " + getValueAtPercentile(99)
+               + ", p99.9 " + getValueAtPercentile(99.9)
+               + ", max " + getMax();
+    }
+    
+    // Adds every value recorded in the other histogram
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    // Only the non-empty buckets are written
+    void writeTo(DataOutput out) throws IOException {
+        int buckets = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount != 0) {
+                buckets++;
+            }
+        }
+        out.writeInt(buckets);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+        out.writeLong(count);
+        out.writeLong(sum);
+        out.writeLong(min);
+        out.writeLong(max);
+    }
+    
+    // Adds the values of a histogram written by writeTo()
+    void readFrom(DataInput in) throws IOException {
+        int buckets = in.readInt();
+        for (int i = 0; i < buckets; i++) {
+            counts[in.readUnsignedShort()] += in.readLong();
+        }
+        count += in.readLong();
+        sum += in.readLong();
+        min = Math.min(min, in.readLong());
+        max = Math.max(max, in.readLong());
+    }
+    
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS bits of the value
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+    
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
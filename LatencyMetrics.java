@@ -0,0 +1,89 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.text.DecimalFormat;
+
+// Constant-memory latency statistics for one scheduling run. Schedulers call
+// recordFirstRun() when a process is dispatched for the first time and
+// recordCompletion() when it finishes; waiting, turnaround and response
+// times each go into a LatencyHistogram, so percentiles are available
+// however many processes were scheduled.
+class LatencyMetrics {
+    private final LatencyHistogram waitingTimes = new LatencyHistogram();
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private long firstArrivalTime = Long.MAX_VALUE;
+    private long lastCompletionTime = Long.MIN_VALUE;
+    
+    public void recordFirstRun(long arrivalTime, long startTime) {
+        responseTimes.record(startTime - arrivalTime);
+    }
+    
+    public void recordCompletion(long arrivalTime, long burstTime, long completionTime) {
+        long turnaroundTime = completionTime - arrivalTime;
+        turnaroundTimes.record(turnaroundTime);
+        waitingTimes.record(turnaroundTime - burstTime);
+        firstArrivalTime = Math.min(firstArrivalTime, arrivalTime);
+        lastCompletionTime = Math.max(lastCompletionTime, completionTime);
+    }
+    
+    public LatencyHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+    
+    public LatencyHistogram getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+    
+    // Time from arrival to first dispatch
+    public LatencyHistogram getResponseTimes() {
+        return responseTimes;
+    }
+    
+    public long getCompletedProcesses() {
+        return turnaroundTimes.getCount();
+    }
+    
+    // Completed processes per time unit, from the first arrival to the last completion
+    public double getThroughput() {
+        long span = lastCompletionTime - firstArrivalTime;
+        return span > 0 ? getCompletedProcesses() / (double) span : 0;
+    }
+    
+    public LatencyMetrics copy() {
+        LatencyMetrics copy = new LatencyMetrics();
+        copy.waitingTimes.add(waitingTimes);
+        copy.turnaroundTimes.add(turnaroundTimes);
+        copy.responseTimes.add(responseTimes);
+        copy.firstArrivalTime = firstArrivalTime;
+        copy.lastCompletionTime = lastCompletionTime;
+        return copy;
+    }
+    
+    void writeTo(DataOutput out) throws IOException {
+        waitingTimes.writeTo(out);
+        turnaroundTimes.writeTo(out);
+        responseTimes.writeTo(out);
+        out.writeLong(firstArrivalTime);
+        out.writeLong(lastCompletionTime);
+    }
+    
+    static LatencyMetrics readFrom(DataInput in) throws IOException {
+        LatencyMetrics metrics = new LatencyMetrics();
+        metrics.waitingTimes.readFrom(in);
+        metrics.turnaroundTimes.readFrom(in);
+        metrics.responseTimes.readFrom(in);
+        metrics.firstArrivalTime = in.readLong();
+        metrics.lastCompletionTime = in.readLong();
+        return metrics;
+    }
+    
+    // Multi-line summary for printing, one line per histogram
+    public String summary() {
+        DecimalFormat df = new DecimalFormat("#.##");
+        return "Waiting Time:    " + waitingTimes.summary() + "\n"
+               + "Turnaround Time: " + turnaroundTimes.summary() + "\n"
+               + "Response Time:   " + responseTimes.summary() + "\n"
+               + "Throughput: " + df.format(getThroughput()) + " processes per time unit";
+    }
+}
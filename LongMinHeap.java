@@ -0,0 +1,80 @@
+import java.util.*;
+
+// Binary min-heap of primitive longs. Callers pack (key, process index) into
+// one long so that ties are broken by index without any boxing.
+class LongMinHeap {
+    private long[] heap;
+    private int size;
+    // Only counted when SchedulerStats is enabled
+    private long comparisons;
+    
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 1)];
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public long peek() {
+        return heap[0];
+    }
+    
+    public long getComparisons() {
+        return comparisons;
+    }
+    
+    // Contents in heap order; adding them to an empty heap gives one that
+    // polls in the same order
+    public long[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+    
+    public void add(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (SchedulerStats.ENABLED) {
+                comparisons++;
+            }
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+    
+    public long poll() {
+        long result = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (SchedulerStats.ENABLED) {
+                comparisons += child + 1 < size ? 2 : 1;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+import java.util.*;
+
+// Multilevel Feedback Queue Algorithm
+// New processes start on level 0, the highest priority. A process that uses
+// its level's whole quantum moves down a level; one preempted early keeps
+// its level. A running process below level 0 is preempted when a new
+// process arrives. Every boostInterval time units all processes move back
+// to level 0, so long jobs cannot starve.
+// Each level is an IntRingQueue, and a bitmap of non-empty levels finds the
+// highest one with a single instruction.
+class MLFQ implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    private static final int MAX_LEVELS = 64;
+    
+    private int[] quanta;
+    private long boostInterval;
+    
+    // Three levels with quanta q, 2q and 4q, boosted every 10 lowest-level quanta
+    public MLFQ(int quantum) {
+        this(new int[]{quantum, (int) Math.min(2L * quantum, Integer.MAX_VALUE),
+                       (int) Math.min(4L * quantum, Integer.MAX_VALUE)}, 40L * quantum);
+    }
+    
+    // quanta[0] is the quantum of the highest level; a boostInterval of 0 never boosts
+    public MLFQ(int[] quanta, long boostInterval) {
+        if (quanta.length == 0 || quanta.length > MAX_LEVELS) {
+            throw new IllegalArgumentException("MLFQ needs between 1 and " + MAX_LEVELS + " levels");
+        }
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Time quantum must be positive");
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("Boost interval cannot be negative");
+        }
+        this.quanta = quanta.clone();
+        this.boostInterval = boostInterval;
+    }
+    
+    @Override
+    public String getConfiguration() {
+        return "MLFQ(quanta=" + Arrays.toString(quanta) + ", boostInterval=" + boostInterval + ")";
+    }
+    
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        return schedule(CompactWorkload.fromProcesses(processes)).toSchedulingResult();
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        if (workload.hasIoBursts()) {
+            throw new IllegalArgumentException("MLFQ does not support I/O bursts");
+        }
+        
+        int[] order = workload.arrivalOrder();
+        int[] remainingTimes = new int[workload.size()];
+        
+        CompactGanttChart ganttChart = new CompactGanttChart();
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        IntRingQueue[] queues = new IntRingQueue[quanta.length];
+        for (int level = 0; level < queues.length; level++) {
+            queues[level] = new IntRingQueue(16);
+        }
+        // Bit i is set when level i has a process waiting
+        long nonEmptyLevels = 0;
+        int lowestLevel = quanta.length - 1;
+        
+        long currentTime = 0;
+        long nextBoostTime = boostInterval > 0 ? boostInterval : Long.MAX_VALUE;
+        int remainingProcesses = order.length;
+        int nextProcess = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        
+        while (remainingProcesses > 0) {
+            monitor.checkpoint(currentTime, order.length - remainingProcesses);
+            
+            // Add newly arrived processes to the top level
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int process = order[nextProcess];
+                remainingTimes[process] = workload.getBurstTime(process);
+                queues[0].add(process);
+                nonEmptyLevels |= 1;
+                nextProcess++;
+            }
+            
+            if (currentTime >= nextBoostTime) {
+                nonEmptyLevels = boost(queues, nonEmptyLevels);
+                nextBoostTime = (currentTime / boostInterval + 1) * boostInterval;
+            }
+            
+            if (nonEmptyLevels == 0) {
+                // No process is waiting, move time to next arrival
+                currentTime = workload.getArrivalTime(order[nextProcess]);
+                continue;
+            }
+            
+            int level = Long.numberOfTrailingZeros(nonEmptyLevels);
+            int process = queues[level].poll();
+            if (queues[level].isEmpty()) {
+                nonEmptyLevels &= ~(1L << level);
+            }
+            
+            long startTime = currentTime;
+            long endTime = startTime + Math.min(quanta[level], remainingTimes[process]);
+            if (level > 0 && nextProcess < order.length &&
+                workload.getArrivalTime(order[nextProcess]) < endTime) {
+                // A new arrival outranks this level
+                endTime = workload.getArrivalTime(order[nextProcess]);
+            }
+            
+            if (remainingTimes[process] == workload.getBurstTime(process)) {
+                metrics.recordFirstRun(workload.getArrivalTime(process), startTime);
+            }
+            // Every arrived process that has not completed, less the one running
+            stats.ran(process, startTime, endTime, nextProcess - (order.length - remainingProcesses) - 1);
+            remainingTimes[process] -= (int) (endTime - startTime);
+            currentTime = endTime;
+            ganttChart.add(process, startTime, endTime);
+            
+            // Add newly arrived processes during this execution
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int arrived = order[nextProcess];
+                remainingTimes[arrived] = workload.getBurstTime(arrived);
+                queues[0].add(arrived);
+                nonEmptyLevels |= 1;
+                nextProcess++;
+            }
+            
+            boolean boosted = false;
+            if (currentTime >= nextBoostTime) {
+                nonEmptyLevels = boost(queues, nonEmptyLevels);
+                nextBoostTime = (currentTime / boostInterval + 1) * boostInterval;
+                boosted = true;
+            }
+            
+            if (remainingTimes[process] > 0) {
+                int newLevel = level;
+                if (boosted) {
+                    newLevel = 0;
+                } else if (endTime - startTime == quanta[level]) {
+                    // Used its whole quantum, so move down a level
+                    newLevel = Math.min(level + 1, lowestLevel);
+                }
+                queues[newLevel].add(process);
+                nonEmptyLevels |= 1L << newLevel;
+            } else {
+                turnaroundTimes[process] = currentTime - workload.getArrivalTime(process);
+                waitingTimes[process] = turnaroundTimes[process] - workload.getBurstTime(process);
+                metrics.recordCompletion(workload.getArrivalTime(process), workload.getBurstTime(process), currentTime);
+                stats.completed();
+                remainingProcesses--;
+            }
+        }
+        
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    // Moves every waiting process to the back of level 0, higher levels first,
+    // and returns the new bitmap
+    private static long boost(IntRingQueue[] queues, long nonEmptyLevels) {
+        long lowerLevels = nonEmptyLevels & ~1L;
+        while (lowerLevels != 0) {
+            int level = Long.numberOfTrailingZeros(lowerLevels);
+            lowerLevels &= lowerLevels - 1;
+            while (!queues[level].isEmpty()) {
+                queues[0].add(queues[level].poll());
+            }
+        }
+        return queues[0].isEmpty() ? 0 : 1;
+    }
+}
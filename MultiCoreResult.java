@@ -0,0 +1,64 @@
+import java.util.*;
+
+// Result of a multi-core run: one Gantt lane per core plus utilization.
+// getGanttChart() returns all lanes merged in start-time order.
+class MultiCoreResult extends SchedulingResult {
+    private ArrayList<ArrayList<GanttChartEntry>> coreGanttCharts;
+    private long[] busyTimes;
+    private int startTime;
+    private int endTime;
+    
+    public MultiCoreResult(ArrayList<ArrayList<GanttChartEntry>> coreGanttCharts, Map<String, Integer> waitingTimes,
+                           Map<String, Integer> turnaroundTimes, LatencyMetrics metrics,
+                           long[] busyTimes, int startTime, int endTime) {
+        super(mergeLanes(coreGanttCharts), waitingTimes, turnaroundTimes, metrics);
+        this.coreGanttCharts = coreGanttCharts;
+        this.busyTimes = busyTimes;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+    
+    private static ArrayList<GanttChartEntry> mergeLanes(ArrayList<ArrayList<GanttChartEntry>> coreGanttCharts) {
+        ArrayList<GanttChartEntry> merged = new ArrayList<>();
+        for (ArrayList<GanttChartEntry> lane : coreGanttCharts) {
+            merged.addAll(lane);
+        }
+        merged.sort(Comparator.comparingInt(GanttChartEntry::getStartTime));
+        return merged;
+    }
+    
+    public int getCoreCount() {
+        return coreGanttCharts.size();
+    }
+    
+    public ArrayList<GanttChartEntry> getCoreGanttChart(int core) {
+        return coreGanttCharts.get(core);
+    }
+    
+    public ArrayList<ArrayList<GanttChartEntry>> getCoreGanttCharts() {
+        return coreGanttCharts;
+    }
+    
+    public long getBusyTime(int core) {
+        return busyTimes[core];
+    }
+    
+    // Share of the time from the first arrival to the last completion that
+    // the core spent running processes
+    public double getCoreUtilization(int core) {
+        long span = endTime - startTime;
+        return span == 0 ? 0 : (double) busyTimes[core] / span;
+    }
+    
+    // Busiest core's busy time relative to the average, minus one:
+    // 0 means perfectly balanced
+    public double getLoadImbalance() {
+        long total = 0;
+        long max = 0;
+        for (long busyTime : busyTimes) {
+            total += busyTime;
+            max = Math.max(max, busyTime);
+        }
+        return total == 0 ? 0 : (double) max * busyTimes.length / total - 1;
+    }
+}
@@ -0,0 +1,309 @@
+import java.util.*;
+
+// Multi-core (SMP) scheduling: runs FCFS, SJF, SRT or Round Robin over N
+// simulated cores. With a GLOBAL queue all cores share one run queue; with
+// PER_CORE queues each arrival is placed on the least loaded core and stays
+// there, unless work stealing lets an idle core take it. On one core every
+// policy gives the same schedule as its single-CPU algorithm.
+class MultiCoreScheduler implements SchedulingAlgorithm {
+    enum Policy { FCFS, SJF, SRT, RR }
+    
+    enum QueueMode { GLOBAL, PER_CORE }
+    
+    private Policy policy;
+    private int quantum;
+    private int cores;
+    private QueueMode queueMode;
+    private boolean workStealing;
+    
+    public MultiCoreScheduler(Policy policy, int quantum, int cores, QueueMode queueMode, boolean workStealing) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("Number of cores must be positive");
+        }
+        if (policy == Policy.RR && quantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive");
+        }
+        this.policy = policy;
+        this.quantum = quantum;
+        this.cores = cores;
+        this.queueMode = queueMode;
+        this.workStealing = workStealing;
+    }
+    
+    @Override
+    public String getConfiguration() {
+        return "MultiCoreScheduler(policy=" + policy + ", quantum=" + quantum + ", cores=" + cores
+               + ", queueMode=" + queueMode + ", workStealing=" + workStealing + ")";
+    }
+    
+    @Override
+    public MultiCoreResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            throw new IllegalArgumentException("Multi-core scheduling does not support I/O bursts");
+        }
+        
+        // Create copies of processes
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort by arrival time
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        Job[] jobs = new Job[processList.size()];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = new Job(processList.get(i), i);
+        }
+        
+        // Run queues: one shared queue, or one per core
+        int queueCount = queueMode == QueueMode.GLOBAL ? 1 : cores;
+        long[] comparisons = new long[1];
+        ArrayList<PriorityQueue<Job>> queues = new ArrayList<>();
+        for (int q = 0; q < queueCount; q++) {
+            queues.add(new PriorityQueue<>(jobOrder(comparisons)));
+        }
+        
+        ArrayList<ArrayList<GanttChartEntry>> coreGanttCharts = new ArrayList<>();
+        for (int c = 0; c < cores; c++) {
+            coreGanttCharts.add(new ArrayList<>());
+        }
+        Job[] running = new Job[cores];
+        int[] runStartTimes = new int[cores];
+        int[] sliceEndTimes = new int[cores];
+        long[] busyTimes = new long[cores];
+        int[] queueOf = new int[jobs.length];
+        // Jobs queued when each core's slice started, for the stats
+        int[] queuedAtDispatch = new int[cores];
+        
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        long sequence = 0;
+        int nextProcess = 0;
+        int remainingProcesses = jobs.length;
+        int currentTime = 0;
+        SchedulerStats stats = SchedulerStats.start(this, jobs.length, cores);
+        
+        while (remainingProcesses > 0) {
+            // Next event: an arrival or the end of a running slice
+            int nextTime = Integer.MAX_VALUE;
+            if (nextProcess < jobs.length) {
+                nextTime = jobs[nextProcess].process.getArrivalTime();
+            }
+            for (int c = 0; c < cores; c++) {
+                if (running[c] != null) {
+                    nextTime = Math.min(nextTime, sliceEndTimes[c]);
+                }
+            }
+            currentTime = Math.max(currentTime, nextTime);
+            
+            // Arrivals go in before expired slices are requeued, as in RoundRobin
+            while (nextProcess < jobs.length &&
+                   jobs[nextProcess].process.getArrivalTime() <= currentTime) {
+                Job job = jobs[nextProcess++];
+                int queue = queueCount == 1 ? 0 : leastLoadedCore(queues, running);
+                queueOf[job.position] = queue;
+                job.sequence = sequence++;
+                queues.get(queue).add(job);
+            }
+            
+            // Slices ending now
+            for (int c = 0; c < cores; c++) {
+                if (running[c] == null || sliceEndTimes[c] != currentTime) {
+                    continue;
+                }
+                Job job = stop(c, currentTime, running, runStartTimes, busyTimes, coreGanttCharts);
+                if (SchedulerStats.ENABLED) {
+                    stats.ran(c, job.position, runStartTimes[c], currentTime, queuedAtDispatch[c]);
+                }
+                if (job.remainingTime == 0) {
+                    stats.completed(c);
+                    int turnaroundTime = currentTime - job.process.getArrivalTime();
+                    turnaroundTimes.put(job.process.getId(), turnaroundTime);
+                    waitingTimes.put(job.process.getId(), turnaroundTime - job.process.getBurstTime());
+                    metrics.recordCompletion(job.process.getArrivalTime(), job.process.getBurstTime(), currentTime);
+                    remainingProcesses--;
+                } else {
+                    job.sequence = sequence++;
+                    queues.get(queueOf[job.position]).add(job);
+                }
+            }
+            
+            // Idle cores take the next job from their queue, or steal one
+            for (int c = 0; c < cores; c++) {
+                if (running[c] != null) {
+                    continue;
+                }
+                int queue = queueCount == 1 ? 0 : c;
+                if (queues.get(queue).isEmpty() && workStealing && queueCount > 1) {
+                    queue = longestQueue(queues);
+                }
+                Job job = queues.get(queue).poll();
+                if (job != null) {
+                    queueOf[job.position] = queueCount == 1 ? 0 : c;
+                    dispatch(c, job, currentTime, running, runStartTimes, sliceEndTimes, metrics);
+                    if (SchedulerStats.ENABLED) {
+                        queuedAtDispatch[c] = queuedJobs(queues);
+                    }
+                }
+            }
+            
+            // SRT: a shorter job in a queue preempts the running job with the
+            // most remaining time among the cores that queue feeds
+            if (policy == Policy.SRT) {
+                for (int queue = 0; queue < queueCount; queue++) {
+                    PriorityQueue<Job> readyQueue = queues.get(queue);
+                    while (!readyQueue.isEmpty()) {
+                        int victim = -1;
+                        for (int c = 0; c < cores; c++) {
+                            if (running[c] != null && (queueCount == 1 || c == queue) &&
+                                (victim < 0 || compareRunning(c, victim, currentTime, running, runStartTimes) > 0)) {
+                                victim = c;
+                            }
+                        }
+                        Job head = readyQueue.peek();
+                        if (victim < 0 || compareKeys(head.remainingTime, head.position,
+                                                      remainingAt(victim, currentTime, running, runStartTimes),
+                                                      running[victim].position) >= 0) {
+                            break;
+                        }
+                        Job preempted = stop(victim, currentTime, running, runStartTimes, busyTimes, coreGanttCharts);
+                        if (SchedulerStats.ENABLED) {
+                            stats.ran(victim, preempted.position, runStartTimes[victim], currentTime,
+                                      queuedAtDispatch[victim]);
+                        }
+                        preempted.sequence = sequence++;
+                        readyQueue.add(preempted);
+                        dispatch(victim, readyQueue.poll(), currentTime, running, runStartTimes, sliceEndTimes, metrics);
+                        if (SchedulerStats.ENABLED) {
+                            queuedAtDispatch[victim] = queuedJobs(queues);
+                        }
+                    }
+                }
+            }
+        }
+        
+        stats.addComparisons(comparisons[0]);
+        stats.finish();
+        int startTime = jobs.length == 0 ? 0 : jobs[0].process.getArrivalTime();
+        return new MultiCoreResult(coreGanttCharts, waitingTimes, turnaroundTimes, metrics,
+                                   busyTimes, startTime, currentTime);
+    }
+    
+    // Counts comparisons in comparisons[0] when SchedulerStats is enabled
+    private Comparator<Job> jobOrder(long[] comparisons) {
+        Comparator<Job> order;
+        switch (policy) {
+            case SJF:
+                order = (a, b) -> compareKeys(a.process.getBurstTime(), a.position,
+                                              b.process.getBurstTime(), b.position);
+                break;
+            case SRT:
+                order = (a, b) -> compareKeys(a.remainingTime, a.position, b.remainingTime, b.position);
+                break;
+            default:
+                // FCFS and RR serve jobs in the order they were queued
+                order = Comparator.comparingLong(job -> job.sequence);
+                break;
+        }
+        if (!SchedulerStats.ENABLED) {
+            return order;
+        }
+        return (a, b) -> {
+            comparisons[0]++;
+            return order.compare(a, b);
+        };
+    }
+    
+    private static int compareKeys(int time1, int position1, int time2, int position2) {
+        int byTime = Integer.compare(time1, time2);
+        return byTime != 0 ? byTime : Integer.compare(position1, position2);
+    }
+    
+    private static int remainingAt(int core, int currentTime, Job[] running, int[] runStartTimes) {
+        return running[core].remainingTime - (currentTime - runStartTimes[core]);
+    }
+    
+    private static int compareRunning(int core1, int core2, int currentTime, Job[] running, int[] runStartTimes) {
+        return compareKeys(remainingAt(core1, currentTime, running, runStartTimes), running[core1].position,
+                           remainingAt(core2, currentTime, running, runStartTimes), running[core2].position);
+    }
+    
+    private void dispatch(int core, Job job, int currentTime, Job[] running, int[] runStartTimes,
+                          int[] sliceEndTimes, LatencyMetrics metrics) {
+        if (job.remainingTime == job.process.getBurstTime()) {
+            metrics.recordFirstRun(job.process.getArrivalTime(), currentTime);
+        }
+        running[core] = job;
+        runStartTimes[core] = currentTime;
+        int sliceLength = policy == Policy.RR ? Math.min(quantum, job.remainingTime) : job.remainingTime;
+        sliceEndTimes[core] = currentTime + sliceLength;
+    }
+    
+    private Job stop(int core, int currentTime, Job[] running, int[] runStartTimes, long[] busyTimes,
+                     ArrayList<ArrayList<GanttChartEntry>> coreGanttCharts) {
+        Job job = running[core];
+        running[core] = null;
+        int startTime = runStartTimes[core];
+        job.remainingTime -= currentTime - startTime;
+        busyTimes[core] += currentTime - startTime;
+        
+        ArrayList<GanttChartEntry> lane = coreGanttCharts.get(core);
+        GanttChartEntry last = lane.isEmpty() ? null : lane.get(lane.size() - 1);
+        if (policy == Policy.SRT && last != null && last.getProcessId().equals(job.process.getId()) &&
+            last.getEndTime() == startTime) {
+            // Combine consecutive entries of the same process, as SRT does
+            lane.set(lane.size() - 1, new GanttChartEntry(last.getProcessId(), last.getStartTime(), currentTime));
+        } else if (currentTime > startTime) {
+            lane.add(new GanttChartEntry(job.process.getId(), startTime, currentTime));
+        }
+        return job;
+    }
+    
+    // Core whose queue plus running job is smallest, lowest index on ties
+    private int leastLoadedCore(ArrayList<PriorityQueue<Job>> queues, Job[] running) {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int c = 0; c < cores; c++) {
+            int load = queues.get(c).size() + (running[c] != null ? 1 : 0);
+            if (load < bestLoad) {
+                best = c;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+    
+    private static int queuedJobs(ArrayList<PriorityQueue<Job>> queues) {
+        int total = 0;
+        for (PriorityQueue<Job> queue : queues) {
+            total += queue.size();
+        }
+        return total;
+    }
+    
+    private int longestQueue(ArrayList<PriorityQueue<Job>> queues) {
+        int longest = 0;
+        for (int q = 1; q < queues.size(); q++) {
+            if (queues.get(q).size() > queues.get(longest).size()) {
+                longest = q;
+            }
+        }
+        return longest;
+    }
+    
+    // Per-run state of one process
+    private static class Job {
+        private final Process process;
+        private final int position;
+        private int remainingTime;
+        private long sequence;
+        
+        Job(Process process, int position) {
+            this.process = process;
+            this.position = position;
+            this.remainingTime = process.getRemainingTime();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Runs RoundRobin over every combination of workload and time quantum on a
+// ForkJoinPool. Workloads are shared read-only between runs; each run only
+// allocates its own remaining-time and metric arrays, and no Gantt chart.
+class ParameterSweep {
+    private final int parallelism;
+    
+    public ParameterSweep() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+    
+    public ParameterSweep(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+    
+    // Results come back in workload order, then quantum order
+    public List<SweepResult> run(Map<String, CompactWorkload> workloads, int[] quanta) throws InterruptedException {
+        ArrayList<Callable<SweepResult>> tasks = new ArrayList<>();
+        for (Map.Entry<String, CompactWorkload> workload : workloads.entrySet()) {
+            for (int quantum : quanta) {
+                tasks.add(() -> {
+                    CompactSchedulingResult result = new RoundRobin(quantum)
+                        .schedule(workload.getValue(), new CompactGanttChart(false));
+                    return new SweepResult(workload.getKey(), quantum, workload.getValue().size(),
+                                           result.getGanttChart().size(),
+                                           result.getAverageWaitingTime(),
+                                           result.getAverageTurnaroundTime(),
+                                           result.getMetrics().getWaitingTimes().getValueAtPercentile(99));
+                });
+            }
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ArrayList<SweepResult> results = new ArrayList<>(tasks.size());
+            for (Future<SweepResult> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Sweep run failed", ex.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    // Average waiting and turnaround time, and p99 waiting time, for one configuration
+    static class SweepResult {
+        private final String workloadName;
+        private final int quantum;
+        private final int processCount;
+        private final int dispatches;
+        private final double averageWaitingTime;
+        private final double averageTurnaroundTime;
+        private final long p99WaitingTime;
+        
+        SweepResult(String workloadName, int quantum, int processCount, int ganttEntries,
+                    double averageWaitingTime, double averageTurnaroundTime, long p99WaitingTime) {
+            this.workloadName = workloadName;
+            this.quantum = quantum;
+            this.processCount = processCount;
+            this.dispatches = ganttEntries;
+            this.averageWaitingTime = averageWaitingTime;
+            this.averageTurnaroundTime = averageTurnaroundTime;
+            this.p99WaitingTime = p99WaitingTime;
+        }
+        
+        public String getWorkloadName() {
+            return workloadName;
+        }
+        
+        public int getQuantum() {
+            return quantum;
+        }
+        
+        public int getProcessCount() {
+            return processCount;
+        }
+        
+        // Number of dispatches, one per Gantt chart entry
+        public int getDispatches() {
+            return dispatches;
+        }
+        
+        public double getAverageWaitingTime() {
+            return averageWaitingTime;
+        }
+        
+        public double getAverageTurnaroundTime() {
+            return averageTurnaroundTime;
+        }
+        
+        public long getP99WaitingTime() {
+            return p99WaitingTime;
+        }
+    }
+}
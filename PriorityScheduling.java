@@ -0,0 +1,174 @@
+import java.util.*;
+
+// Priority Scheduling Algorithm
+// The process with the lowest priority number runs first. The preemptive
+// variant switches as soon as a waiting process has a strictly better
+// priority than the running one; the non-preemptive variant only picks a
+// new process when one completes. Without aging, ties go to the earlier
+// arrival.
+// With aging, a waiting process's priority number drops by one for every
+// agingInterval time units it waits, and a running process keeps the
+// priority it had reached. A preempted process starts waiting again, from
+// that priority, when it is preempted. Ties go to the process that reached
+// its current priority first, so a preempted process can lose to one that
+// arrived after it; processes that reached it at the same time go in
+// arrival order.
+// Rather than updating every waiting process each tick, a waiting process
+// is keyed by priority * agingInterval + the time it started waiting, which
+// orders by priority and then by when that priority was reached. All
+// waiting processes age at the same rate, so the keys keep their order
+// forever and the current priority of any of them is
+// ceil((key - currentTime) / agingInterval). The preemptive variant then
+// only needs one extra event: the time the best waiting process ages past
+// the running one.
+class PriorityScheduling implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    private boolean preemptive;
+    private int agingInterval;
+    
+    public PriorityScheduling(boolean preemptive) {
+        this(preemptive, 0);
+    }
+    
+    // An agingInterval of 0 turns aging off
+    public PriorityScheduling(boolean preemptive, int agingInterval) {
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval cannot be negative");
+        }
+        this.preemptive = preemptive;
+        this.agingInterval = agingInterval;
+    }
+    
+    @Override
+    public String getConfiguration() {
+        return "PriorityScheduling(preemptive=" + preemptive + ", agingInterval=" + agingInterval + ")";
+    }
+    
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        return schedule(CompactWorkload.fromProcesses(processes)).toSchedulingResult();
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        if (workload.hasIoBursts()) {
+            throw new IllegalArgumentException("Priority scheduling does not support I/O bursts");
+        }
+        
+        int[] order = workload.arrivalOrder();
+        int[] remainingTimes = new int[workload.size()];
+        
+        CompactGanttChart ganttChart = new CompactGanttChart();
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        // Waiting processes by key, ties broken by position in arrival order
+        KeyedIntMinHeap readyQueue = new KeyedIntMinHeap(16);
+        
+        long currentTime = 0;
+        int nextProcess = 0;
+        int completedProcesses = 0;
+        
+        // Position of the running process and the priority it runs at
+        int running = -1;
+        long runningPriority = 0;
+        
+        // Gantt entry still being extended
+        int currentProcess = -1;
+        long currentProcessStartTime = 0;
+        long currentProcessEndTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        
+        while (completedProcesses < order.length) {
+            monitor.checkpoint(currentTime, completedProcesses);
+            
+            // Add newly arrived processes, waiting since they arrived
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int process = order[nextProcess];
+                remainingTimes[process] = workload.getBurstTime(process);
+                readyQueue.add(waitingKey(workload.getPriority(process), workload.getArrivalTime(process)),
+                               nextProcess);
+                nextProcess++;
+            }
+            
+            if (running < 0) {
+                if (readyQueue.isEmpty()) {
+                    // CPU is idle, jump straight to the next arrival
+                    currentTime = workload.getArrivalTime(order[nextProcess]);
+                    continue;
+                }
+                runningPriority = priorityAt(readyQueue.peekKey(), currentTime);
+                running = readyQueue.poll();
+            } else if (!readyQueue.isEmpty() && priorityAt(readyQueue.peekKey(), currentTime) < runningPriority) {
+                // Preempted; it waits again from the priority it had reached
+                long priority = priorityAt(readyQueue.peekKey(), currentTime);
+                int position = readyQueue.poll();
+                readyQueue.add(waitingKey(runningPriority, currentTime), running);
+                running = position;
+                runningPriority = priority;
+            }
+            int process = order[running];
+            
+            long endTime = currentTime + remainingTimes[process];
+            if (preemptive) {
+                // Stop at the next arrival, which may outrank this process
+                if (nextProcess < order.length &&
+                    workload.getArrivalTime(order[nextProcess]) < endTime) {
+                    endTime = workload.getArrivalTime(order[nextProcess]);
+                }
+                // or when the best waiting process has aged past it
+                if (agingInterval > 0 && !readyQueue.isEmpty()) {
+                    endTime = Math.min(endTime, readyQueue.peekKey() - (runningPriority - 1) * agingInterval);
+                }
+            }
+            
+            // Combine with the previous entry if the same process keeps the CPU
+            if (currentProcess == process && currentProcessEndTime == currentTime) {
+                currentProcessEndTime = endTime;
+            } else {
+                if (currentProcess >= 0) {
+                    ganttChart.add(currentProcess, currentProcessStartTime, currentProcessEndTime);
+                }
+                currentProcess = process;
+                currentProcessStartTime = currentTime;
+                currentProcessEndTime = endTime;
+            }
+            
+            if (remainingTimes[process] == workload.getBurstTime(process)) {
+                metrics.recordFirstRun(workload.getArrivalTime(process), currentTime);
+            }
+            stats.ran(process, currentTime, endTime, readyQueue.size());
+            remainingTimes[process] -= (int) (endTime - currentTime);
+            currentTime = endTime;
+            
+            if (remainingTimes[process] == 0) {
+                turnaroundTimes[process] = currentTime - workload.getArrivalTime(process);
+                waitingTimes[process] = turnaroundTimes[process] - workload.getBurstTime(process);
+                metrics.recordCompletion(workload.getArrivalTime(process), workload.getBurstTime(process), currentTime);
+                stats.completed();
+                completedProcesses++;
+                running = -1;
+            }
+        }
+        
+        if (currentProcess >= 0) {
+            ganttChart.add(currentProcess, currentProcessStartTime, currentProcessEndTime);
+        }
+        
+        stats.addComparisons(readyQueue.getComparisons());
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    // Key of a process that has priority and starts waiting at readyTime
+    private long waitingKey(long priority, long readyTime) {
+        return agingInterval > 0 ? priority * agingInterval + readyTime : priority;
+    }
+    
+    // Current priority of a waiting process with the given key
+    private long priorityAt(long key, long currentTime) {
+        return agingInterval > 0 ? -Math.floorDiv(currentTime - key, (long) agingInterval) : key;
+    }
+}
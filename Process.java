@@ -0,0 +1,100 @@
+
+// Process class
+class Process {
+    private String id;
+    private int arrivalTime;
+    private int burstTime;
+    private int priority;
+    private int remainingTime;
+    // CPU and I/O bursts in turn, starting and ending with CPU; null for a
+    // single CPU burst
+    private int[] bursts;
+    
+    public Process(String id, int arrivalTime, int burstTime) {
+        this(id, arrivalTime, burstTime, 0);
+    }
+    
+    // A lower priority number means a higher priority
+    public Process(String id, int arrivalTime, int burstTime, int priority) {
+        this.id = id;
+        this.arrivalTime = arrivalTime;
+        this.burstTime = burstTime;
+        this.priority = priority;
+        this.remainingTime = burstTime;
+    }
+    
+    // A process that alternates between CPU and I/O, e.g. {4, 10, 3} runs
+    // for 4, waits 10 for I/O and then runs for 3. Its burst time is the
+    // total CPU time.
+    public Process(String id, int arrivalTime, int[] bursts, int priority) {
+        this(id, arrivalTime, cpuTime(bursts), priority);
+        if (bursts.length > 1) {
+            this.bursts = bursts.clone();
+        }
+    }
+    
+    private static int cpuTime(int[] bursts) {
+        if (bursts.length % 2 == 0) {
+            throw new IllegalArgumentException("Bursts must start and end with a CPU burst");
+        }
+        long total = 0;
+        for (int i = 0; i < bursts.length; i += 2) {
+            if (bursts[i] <= 0) {
+                throw new IllegalArgumentException("CPU bursts must be positive");
+            }
+            total += bursts[i];
+        }
+        for (int i = 1; i < bursts.length; i += 2) {
+            if (bursts[i] < 0) {
+                throw new IllegalArgumentException("I/O bursts cannot be negative");
+            }
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total CPU time is too large");
+        }
+        return (int) total;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public int getArrivalTime() {
+        return arrivalTime;
+    }
+    
+    public int getBurstTime() {
+        return burstTime;
+    }
+    
+    public int getPriority() {
+        return priority;
+    }
+    
+    public boolean hasIoBursts() {
+        return bursts != null;
+    }
+    
+    // CPU and I/O bursts in turn; a single CPU burst for processes without I/O
+    public int[] getBursts() {
+        return bursts != null ? bursts.clone() : new int[] {burstTime};
+    }
+    
+    public int getRemainingTime() {
+        return remainingTime;
+    }
+    
+    public void decreaseRemainingTime(int time) {
+        this.remainingTime -= time;
+        if (remainingTime < 0) {
+            remainingTime = 0;
+        }
+    }
+    
+    public Process clone() {
+        Process clone = new Process(id, arrivalTime, burstTime, priority);
+        clone.remainingTime = this.remainingTime;
+        clone.bursts = bursts;
+        return clone;
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.*;
+import javax.swing.table.AbstractTableModel;
+
+// Table model for the process inputs. Rows live in parallel arrays rather
+// than one set of Swing components per process, so a JTable only renders
+// the rows that are on screen. Ids default to P1, P2, ... and are only
+// stored for rows that were pasted or imported. Priorities default to 0.
+// Rows imported or pasted with I/O keep their CPU and I/O bursts, and show
+// their total CPU time as the burst time until it is edited.
+class ProcessTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    
+    // Marks a cell the user has not filled in yet
+    private static final int UNSET = Integer.MIN_VALUE;
+    
+    private static final String[] COLUMN_NAMES = {"Process ID", "Arrival Time", "Burst Time", "Priority"};
+    
+    private String[] ids = new String[0];
+    private int[] arrivalTimes = new int[0];
+    private int[] burstTimes = new int[0];
+    private int[] priorities = new int[0];
+    // Null for rows without I/O
+    private int[][] bursts = new int[0][];
+    private int rowCount;
+    
+    // Replaces the table with processCount empty rows
+    public void reset(int processCount) {
+        ids = new String[processCount];
+        arrivalTimes = new int[processCount];
+        burstTimes = new int[processCount];
+        priorities = new int[processCount];
+        bursts = new int[processCount][];
+        Arrays.fill(arrivalTimes, UNSET);
+        Arrays.fill(burstTimes, UNSET);
+        rowCount = processCount;
+        fireTableDataChanged();
+    }
+    
+    // Replaces the table with the workload, e.g. one imported from a file
+    public void setWorkload(CompactWorkload workload) {
+        reset(workload.size());
+        copyFrom(workload, 0);
+        fireTableDataChanged();
+    }
+    
+    // Writes the workload over the rows starting at firstRow, adding rows
+    // when it runs past the end
+    public void paste(CompactWorkload workload, int firstRow) {
+        int end = firstRow + workload.size();
+        if (end > rowCount) {
+            int oldRowCount = rowCount;
+            ensureCapacity(end);
+            rowCount = end;
+            fireTableRowsInserted(oldRowCount, end - 1);
+        }
+        copyFrom(workload, firstRow);
+        fireTableRowsUpdated(firstRow, end - 1);
+    }
+    
+    // Checks every row in one pass over the arrays; throws with a message
+    // naming the first bad process
+    public void validate() {
+        for (int i = 0; i < rowCount; i++) {
+            if (arrivalTimes[i] == UNSET || burstTimes[i] == UNSET) {
+                throw new IllegalArgumentException("Please enter valid numbers for arrival and burst times ("
+                                                   + getProcessId(i) + ")");
+            }
+            if (arrivalTimes[i] < 0 || burstTimes[i] <= 0) {
+                throw new IllegalArgumentException("Arrival time must be non-negative and burst time must be positive ("
+                                                   + getProcessId(i) + ")");
+            }
+        }
+    }
+    
+    // Call validate() first
+    public ArrayList<Process> toProcesses() {
+        ArrayList<Process> processes = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            if (bursts[i] != null) {
+                processes.add(new Process(getProcessId(i), arrivalTimes[i], bursts[i], priorities[i]));
+            } else {
+                processes.add(new Process(getProcessId(i), arrivalTimes[i], burstTimes[i], priorities[i]));
+            }
+        }
+        return processes;
+    }
+    
+    public String getProcessId(int row) {
+        return ids[row] != null ? ids[row] : "P" + (row + 1);
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : Integer.class;
+    }
+    
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column > 0;
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case 0:
+                return getProcessId(row);
+            case 1:
+                return arrivalTimes[row] == UNSET ? null : arrivalTimes[row];
+            case 2:
+                return burstTimes[row] == UNSET ? null : burstTimes[row];
+            default:
+                return priorities[row];
+        }
+    }
+    
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        int number = value instanceof Integer ? (Integer) value : UNSET;
+        if (column == 1) {
+            arrivalTimes[row] = number;
+        } else if (column == 2) {
+            // A different burst time replaces the CPU and I/O bursts
+            if (number != burstTimes[row]) {
+                bursts[row] = null;
+            }
+            burstTimes[row] = number;
+        } else if (column == 3) {
+            // A cleared priority goes back to the default
+            priorities[row] = number == UNSET ? 0 : number;
+        }
+        fireTableCellUpdated(row, column);
+    }
+    
+    private void copyFrom(CompactWorkload workload, int firstRow) {
+        for (int i = 0; i < workload.size(); i++) {
+            ids[firstRow + i] = workload.getId(i);
+            arrivalTimes[firstRow + i] = workload.getArrivalTime(i);
+            burstTimes[firstRow + i] = workload.getBurstTime(i);
+            priorities[firstRow + i] = workload.getPriority(i);
+            bursts[firstRow + i] = workload.getBurstCount(i) > 1 ? workload.getBursts(i) : null;
+        }
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, newCapacity);
+            burstTimes = Arrays.copyOf(burstTimes, newCapacity);
+            priorities = Arrays.copyOf(priorities, newCapacity);
+            bursts = Arrays.copyOf(bursts, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.*;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Blocking Iterator view of a Flow.Publisher. Requests items in batches, so
+// at most two batches are ever buffered.
+class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T> {
+    static final int DEFAULT_BATCH_SIZE = 256;
+    private static final Object COMPLETE = new Object();
+    
+    private final LinkedBlockingQueue<Object> buffer = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private Flow.Subscription subscription;
+    private int consumedSinceRequest;
+    private Object next;
+    
+    public PublisherIterator(Flow.Publisher<T> publisher, int batchSize) {
+        this.batchSize = batchSize;
+        publisher.subscribe(this);
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(2L * batchSize);
+    }
+    
+    @Override
+    public void onNext(T item) {
+        buffer.add(item);
+    }
+    
+    @Override
+    public void onError(Throwable throwable) {
+        buffer.add(new ErrorSignal(throwable));
+    }
+    
+    @Override
+    public void onComplete() {
+        buffer.add(COMPLETE);
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for arrivals", e);
+            }
+        }
+        if (next instanceof ErrorSignal) {
+            throw new IllegalStateException("Arrival publisher failed", ((ErrorSignal) next).error);
+        }
+        return next != COMPLETE;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = (T) next;
+        next = null;
+        if (++consumedSinceRequest == batchSize) {
+            consumedSinceRequest = 0;
+            subscription.request(batchSize);
+        }
+        return item;
+    }
+    
+    private static class ErrorSignal {
+        private final Throwable error;
+        
+        ErrorSignal(Throwable error) {
+            this.error = error;
+        }
+    }
+}
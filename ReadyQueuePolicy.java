@@ -0,0 +1,104 @@
+// Decides which ready process runs next in a DiscreteEventScheduler, and
+// for how long
+interface ReadyQueuePolicy {
+    // First come, first served
+    ReadyQueuePolicy FCFS = new ReadyQueuePolicy() {
+        @Override
+        public String getConfiguration() {
+            return "FCFS";
+        }
+        
+        @Override
+        public ReadyQueue newReadyQueue() {
+            return new FifoReadyQueue();
+        }
+    };
+    
+    // Shortest next CPU burst, not preempted
+    ReadyQueuePolicy SJF = new ReadyQueuePolicy() {
+        @Override
+        public String getConfiguration() {
+            return "SJF";
+        }
+        
+        @Override
+        public ReadyQueue newReadyQueue() {
+            return new ShortestFirstReadyQueue();
+        }
+    };
+    
+    // Shortest remaining time of the current CPU burst, preempted when a
+    // shorter one becomes ready
+    ReadyQueuePolicy SRT = new ReadyQueuePolicy() {
+        @Override
+        public String getConfiguration() {
+            return "SRT";
+        }
+        
+        @Override
+        public boolean isPreemptive() {
+            return true;
+        }
+        
+        @Override
+        public ReadyQueue newReadyQueue() {
+            return new ShortestFirstReadyQueue();
+        }
+    };
+    
+    static ReadyQueuePolicy roundRobin(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive");
+        }
+        return new ReadyQueuePolicy() {
+            @Override
+            public String getConfiguration() {
+                return "RoundRobin(quantum=" + quantum + ")";
+            }
+            
+            @Override
+            public long getTimeSlice() {
+                return quantum;
+            }
+            
+            @Override
+            public ReadyQueue newReadyQueue() {
+                return new FifoReadyQueue();
+            }
+        };
+    }
+    
+    // Name and parameters, as for SchedulingAlgorithm.getConfiguration()
+    String getConfiguration();
+    
+    // Longest a process runs before going back in the ready queue
+    default long getTimeSlice() {
+        return Long.MAX_VALUE;
+    }
+    
+    // Whether the running process goes back in the ready queue to compete
+    // whenever another process becomes ready
+    default boolean isPreemptive() {
+        return false;
+    }
+    
+    // Empty ready queue for one run
+    ReadyQueue newReadyQueue();
+    
+    // Ready processes, by position in arrival order
+    interface ReadyQueue {
+        // remainingTime is what is left of the process's current CPU burst
+        void add(int position, int remainingTime);
+        
+        int poll();
+        
+        boolean isEmpty();
+        
+        int size();
+        
+        // Key comparisons made so far, for SchedulerStats
+        default long getComparisons() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// JFR event sampling the ready queue length, committed every
+// SchedulerStats.SAMPLE_INTERVAL selections
+@Name("scheduler.ReadyQueueSample")
+@Label("Ready Queue Sample")
+@Category("CPU Scheduling")
+class ReadyQueueSampleEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+    
+    @Label("Simulated Time")
+    long simulatedTime;
+    
+    @Label("Length")
+    int length;
+}
@@ -0,0 +1,317 @@
+import java.util.*;
+
+// Slow schedulers that step one time unit at a time, for SchedulerCheck to
+// compare the algorithms against where no simpler algorithm gives the same
+// schedule. Each follows its algorithm's rules as written in the
+// algorithm's header comment, without any of its shortcuts.
+class ReferenceSchedulers {
+    private ReferenceSchedulers() {
+    }
+    
+    // MLFQ: processes join the back of level 0; a process that used its
+    // level's whole quantum goes down a level; one below level 0 is preempted
+    // by an arrival and keeps its level; once a slice ends at or after a boost
+    // time, every waiting process moves to the back of level 0, higher levels
+    // first, and then the process that ran
+    static SchedulingResult mlfq(ArrayList<Process> processes, int[] quanta, long boostInterval) {
+        Process[] sorted = byArrival(processes);
+        List<ArrayDeque<Integer>> levels = new ArrayList<>();
+        for (int level = 0; level < quanta.length; level++) {
+            levels.add(new ArrayDeque<>());
+        }
+        Run run = new Run(sorted);
+        long nextBoostTime = boostInterval > 0 ? boostInterval : Long.MAX_VALUE;
+        int nextProcess = 0;
+        int running = -1;
+        int runningLevel = 0;
+        int sliceStartTime = 0;
+        
+        for (int time = 0; ; time++) {
+            boolean arrived = false;
+            while (nextProcess < sorted.length && sorted[nextProcess].getArrivalTime() <= time) {
+                levels.get(0).add(nextProcess++);
+                arrived = true;
+            }
+            
+            if (running >= 0) {
+                boolean finished = run.remainingTimes[running] == 0;
+                boolean wholeQuantum = time - sliceStartTime == quanta[runningLevel];
+                if (finished || wholeQuantum || (runningLevel > 0 && arrived)) {
+                    run.addEntry(running, sliceStartTime, time);
+                    boolean boosted = false;
+                    if (time >= nextBoostTime) {
+                        boost(levels);
+                        nextBoostTime = (time / boostInterval + 1) * boostInterval;
+                        boosted = true;
+                    }
+                    if (finished) {
+                        run.complete(running, time);
+                    } else if (boosted) {
+                        levels.get(0).add(running);
+                    } else {
+                        levels.get(wholeQuantum ? Math.min(runningLevel + 1, quanta.length - 1) : runningLevel)
+                              .add(running);
+                    }
+                    running = -1;
+                }
+            }
+            if (run.isDone()) {
+                return run.result();
+            }
+            
+            if (running < 0) {
+                if (time >= nextBoostTime) {
+                    boost(levels);
+                    nextBoostTime = (time / boostInterval + 1) * boostInterval;
+                }
+                for (int level = 0; level < quanta.length && running < 0; level++) {
+                    if (!levels.get(level).isEmpty()) {
+                        running = levels.get(level).poll();
+                        runningLevel = level;
+                        sliceStartTime = time;
+                        run.dispatch(running, time);
+                    }
+                }
+            }
+            if (running >= 0) {
+                run.remainingTimes[running]--;
+            }
+        }
+    }
+    
+    // Priority scheduling: the waiting process with the lowest priority number
+    // runs, ties going to the earlier arrival, or with aging to the process
+    // that reached its current priority first and then the earlier arrival.
+    // A waiting process's priority number drops by one after every
+    // agingInterval time units it waits at it; a running process keeps its
+    // priority, and waits again from it if preempted.
+    static SchedulingResult priority(ArrayList<Process> processes, boolean preemptive, int agingInterval) {
+        Process[] sorted = byArrival(processes);
+        Run run = new Run(sorted);
+        // Of each waiting process: its priority, how long it has waited at
+        // it and when it reached it
+        int[] priorities = new int[sorted.length];
+        int[] waitedTimes = new int[sorted.length];
+        int[] reachedTimes = new int[sorted.length];
+        ArrayList<Integer> waiting = new ArrayList<>();
+        int nextProcess = 0;
+        int running = -1;
+        int runningPriority = 0;
+        
+        for (int time = 0; ; time++) {
+            while (nextProcess < sorted.length && sorted[nextProcess].getArrivalTime() <= time) {
+                priorities[nextProcess] = sorted[nextProcess].getPriority();
+                waitedTimes[nextProcess] = 0;
+                reachedTimes[nextProcess] = time;
+                waiting.add(nextProcess++);
+            }
+            if (running >= 0 && run.remainingTimes[running] == 0) {
+                run.complete(running, time);
+                running = -1;
+            }
+            if (run.isDone()) {
+                return run.result();
+            }
+            
+            int best = -1;
+            for (int process : waiting) {
+                if (best < 0 || priorities[process] < priorities[best]
+                    || (priorities[process] == priorities[best] && agingInterval > 0
+                        && reachedTimes[process] < reachedTimes[best])
+                    || (priorities[process] == priorities[best]
+                        && (agingInterval == 0 || reachedTimes[process] == reachedTimes[best]) && process < best)) {
+                    best = process;
+                }
+            }
+            if (running < 0 && best >= 0) {
+                waiting.remove(Integer.valueOf(best));
+                running = best;
+                runningPriority = priorities[best];
+            } else if (running >= 0 && preemptive && best >= 0 && priorities[best] < runningPriority) {
+                waiting.remove(Integer.valueOf(best));
+                priorities[running] = runningPriority;
+                waitedTimes[running] = 0;
+                reachedTimes[running] = time;
+                waiting.add(running);
+                running = best;
+                runningPriority = priorities[best];
+            }
+            
+            if (running >= 0) {
+                run.dispatch(running, time);
+                run.extendEntry(running, time, time + 1);
+                run.remainingTimes[running]--;
+            }
+            if (agingInterval > 0) {
+                for (int process : waiting) {
+                    if (++waitedTimes[process] == agingInterval) {
+                        priorities[process]--;
+                        waitedTimes[process] = 0;
+                        reachedTimes[process] = time + 1;
+                    }
+                }
+            }
+        }
+    }
+    
+    // CFS: the runnable process with the smallest virtual runtime, then the
+    // earliest arrival, runs for its weight's share of the period. An arrival
+    // starts at the smallest virtual runtime so far, and the running process
+    // is preempted if it is more than minGranularity ahead of the leftmost
+    // waiting process, at that process's weight, which need not be the
+    // process that just arrived.
+    static SchedulingResult cfs(ArrayList<Process> processes, int targetLatency, int minGranularity) {
+        Process[] sorted = byArrival(processes);
+        Run run = new Run(sorted);
+        int[] weights = new int[sorted.length];
+        long[] vruntimes = new long[sorted.length];
+        ArrayList<Integer> waiting = new ArrayList<>();
+        long minVruntime = 0;
+        int runnableProcesses = 0;
+        long totalWeight = 0;
+        int nextProcess = 0;
+        int running = -1;
+        long sliceEndTime = 0;
+        
+        for (int time = 0; ; time++) {
+            if (running >= 0 && run.remainingTimes[running] == 0) {
+                run.complete(running, time);
+                runnableProcesses--;
+                totalWeight -= weights[running];
+                running = -1;
+            } else if (running >= 0 && time >= sliceEndTime) {
+                waiting.add(running);
+                running = -1;
+            }
+            if (run.isDone()) {
+                return run.result();
+            }
+            
+            boolean arrived = false;
+            while (nextProcess < sorted.length && sorted[nextProcess].getArrivalTime() <= time) {
+                weights[nextProcess] = CFS.weightOf(sorted[nextProcess].getPriority());
+                vruntimes[nextProcess] = minVruntime;
+                runnableProcesses++;
+                totalWeight += weights[nextProcess];
+                waiting.add(nextProcess++);
+                arrived = true;
+            }
+            if (running >= 0 && arrived) {
+                int leftmost = leftmost(waiting, vruntimes);
+                if (vruntimes[running] - vruntimes[leftmost] > minGranularity * vruntimeRate(weights[leftmost])) {
+                    waiting.add(running);
+                    running = -1;
+                }
+            }
+            if (running < 0 && !waiting.isEmpty()) {
+                running = leftmost(waiting, vruntimes);
+                waiting.remove(Integer.valueOf(running));
+                long period = Math.max(targetLatency, (long) runnableProcesses * minGranularity);
+                sliceEndTime = time + Math.max(1, period * weights[running] / totalWeight);
+            }
+            
+            if (running >= 0) {
+                run.dispatch(running, time);
+                run.extendEntry(running, time, time + 1);
+                run.remainingTimes[running]--;
+                vruntimes[running] += vruntimeRate(weights[running]);
+                long smallestVruntime = vruntimes[running];
+                for (int process : waiting) {
+                    smallestVruntime = Math.min(smallestVruntime, vruntimes[process]);
+                }
+                minVruntime = Math.max(minVruntime, smallestVruntime);
+            }
+        }
+    }
+    
+    // Virtual runtime per time unit, in CFS's fixed point: 1 << 16 at nice 0
+    private static long vruntimeRate(int weight) {
+        return (1024L << 16) / weight;
+    }
+    
+    // Smallest virtual runtime, ties to the earliest arrival
+    private static int leftmost(ArrayList<Integer> waiting, long[] vruntimes) {
+        int leftmost = -1;
+        for (int process : waiting) {
+            if (leftmost < 0 || vruntimes[process] < vruntimes[leftmost]
+                || (vruntimes[process] == vruntimes[leftmost] && process < leftmost)) {
+                leftmost = process;
+            }
+        }
+        return leftmost;
+    }
+    
+    private static void boost(List<ArrayDeque<Integer>> levels) {
+        for (int level = 1; level < levels.size(); level++) {
+            while (!levels.get(level).isEmpty()) {
+                levels.get(0).add(levels.get(level).poll());
+            }
+        }
+    }
+    
+    // Stable sort by arrival time, the order every algorithm breaks ties in
+    private static Process[] byArrival(ArrayList<Process> processes) {
+        Process[] sorted = processes.toArray(new Process[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Process::getArrivalTime));
+        return sorted;
+    }
+    
+    // Bookkeeping shared by the references: remaining times, the Gantt chart
+    // and the per-process times, indexed by position in arrival order
+    private static class Run {
+        private final Process[] processes;
+        private final int[] remainingTimes;
+        private final ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        private final Map<String, Integer> waitingTimes = new HashMap<>();
+        private final Map<String, Integer> turnaroundTimes = new HashMap<>();
+        private final LatencyMetrics metrics = new LatencyMetrics();
+        private int completed;
+        
+        Run(Process[] processes) {
+            this.processes = processes;
+            remainingTimes = new int[processes.length];
+            for (int i = 0; i < processes.length; i++) {
+                remainingTimes[i] = processes[i].getBurstTime();
+            }
+        }
+        
+        void dispatch(int process, int time) {
+            if (remainingTimes[process] == processes[process].getBurstTime()) {
+                metrics.recordFirstRun(processes[process].getArrivalTime(), time);
+            }
+        }
+        
+        void addEntry(int process, int startTime, int endTime) {
+            ganttChart.add(new GanttChartEntry(processes[process].getId(), startTime, endTime));
+        }
+        
+        // Joins the entry onto the last one if that ran the same process up
+        // to startTime
+        void extendEntry(int process, int startTime, int endTime) {
+            GanttChartEntry last = ganttChart.isEmpty() ? null : ganttChart.get(ganttChart.size() - 1);
+            if (last != null && last.getProcessId().equals(processes[process].getId())
+                && last.getEndTime() == startTime) {
+                ganttChart.set(ganttChart.size() - 1, new GanttChartEntry(last.getProcessId(), last.getStartTime(),
+                                                                          endTime));
+            } else {
+                addEntry(process, startTime, endTime);
+            }
+        }
+        
+        void complete(int process, int time) {
+            Process p = processes[process];
+            turnaroundTimes.put(p.getId(), time - p.getArrivalTime());
+            waitingTimes.put(p.getId(), time - p.getArrivalTime() - p.getBurstTime());
+            metrics.recordCompletion(p.getArrivalTime(), p.getBurstTime(), time);
+            completed++;
+        }
+        
+        boolean isDone() {
+            return completed == processes.length;
+        }
+        
+        SchedulingResult result() {
+            return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+        }
+    }
+}
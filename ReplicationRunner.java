@@ -0,0 +1,258 @@
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Monte Carlo replications of a set of algorithms over synthetic workloads.
+// Every replication generates a fresh workload from the spec, runs every
+// algorithm on it, and adds each algorithm's average waiting, turnaround and
+// response time to running statistics, from which means and confidence
+// intervals are reported. Running every algorithm on the same workloads
+// keeps the comparison between them fair.
+//
+// Replications run in parallel on a thread pool. Each one draws its
+// workload from its own SplittableRandom, split in replication order off a
+// root seeded with the seed, and results are folded in replication order.
+// The estimates, and the replication the run stops at, therefore depend
+// only on the seed and not on the number of threads.
+//
+// The run stops early once the half-width of every average waiting and
+// turnaround time interval is within the target fraction of its mean, and
+// otherwise at the replication limit.
+class ReplicationRunner {
+    private final WorkloadSpec spec;
+    private final int processCount;
+    private final long seed;
+    private final LinkedHashMap<String, CompactSchedulingAlgorithm> algorithms = new LinkedHashMap<>();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private double confidence = 0.95;
+    private double targetRelativeHalfWidth = 0.01;
+    private int minReplications = 30;
+    private int maxReplications = 10_000;
+    
+    // The spec must not be changed while run() is going
+    public ReplicationRunner(WorkloadSpec spec, int processCount, long seed) {
+        if (processCount <= 0) {
+            throw new IllegalArgumentException("Process count must be positive");
+        }
+        this.spec = spec;
+        this.processCount = processCount;
+        this.seed = seed;
+    }
+    
+    // Algorithms are shared by every thread, so they must not keep state
+    // between schedule() calls
+    public ReplicationRunner add(String name, CompactSchedulingAlgorithm algorithm) {
+        algorithms.put(name, algorithm);
+        return this;
+    }
+    
+    public ReplicationRunner addAll(Map<String, CompactSchedulingAlgorithm> algorithms) {
+        this.algorithms.putAll(algorithms);
+        return this;
+    }
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public ReplicationRunner setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+    
+    public double getConfidence() {
+        return confidence;
+    }
+    
+    // e.g. 0.95 for 95% confidence intervals
+    public ReplicationRunner setConfidence(double confidence) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1");
+        }
+        this.confidence = confidence;
+        return this;
+    }
+    
+    public double getTargetRelativeHalfWidth() {
+        return targetRelativeHalfWidth;
+    }
+    
+    // e.g. 0.01 to stop once every interval is within 1% of its mean; 0
+    // always runs to the replication limit
+    public ReplicationRunner setTargetRelativeHalfWidth(double targetRelativeHalfWidth) {
+        if (!(targetRelativeHalfWidth >= 0)) {
+            throw new IllegalArgumentException("Target width cannot be negative");
+        }
+        this.targetRelativeHalfWidth = targetRelativeHalfWidth;
+        return this;
+    }
+    
+    public int getMinReplications() {
+        return minReplications;
+    }
+    
+    // Early intervals are too unreliable to stop on
+    public ReplicationRunner setMinReplications(int minReplications) {
+        if (minReplications < 2) {
+            throw new IllegalArgumentException("At least 2 replications are needed for an interval");
+        }
+        this.minReplications = minReplications;
+        return this;
+    }
+    
+    public int getMaxReplications() {
+        return maxReplications;
+    }
+    
+    public ReplicationRunner setMaxReplications(int maxReplications) {
+        if (maxReplications < 2) {
+            throw new IllegalArgumentException("At least 2 replications are needed for an interval");
+        }
+        this.maxReplications = maxReplications;
+        return this;
+    }
+    
+    // Estimates come back in the order the algorithms were added
+    public Report run() throws InterruptedException {
+        ArrayList<CompactSchedulingAlgorithm> algorithmList = new ArrayList<>(algorithms.values());
+        ArrayList<Estimate> estimates = new ArrayList<>();
+        for (String name : algorithms.keySet()) {
+            estimates.add(new Estimate(name));
+        }
+        
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        ArrayDeque<Future<double[][]>> pending = new ArrayDeque<>();
+        int submitted = 0;
+        int replications = 0;
+        boolean converged = false;
+        try {
+            while (replications < maxReplications && !converged) {
+                // Keep a couple of replications queued per thread, so threads
+                // don't sit idle while results are folded in order
+                while (submitted < maxReplications && pending.size() < parallelism * 2) {
+                    SplittableRandom random = root.split();
+                    pending.add(executor.submit(
+                        () -> new SchedulingMonitor().run(() -> replicate(algorithmList, random))));
+                    submitted++;
+                }
+                
+                double[][] averages;
+                try {
+                    averages = pending.poll().get();
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Replication failed", ex.getCause());
+                }
+                for (int a = 0; a < estimates.size(); a++) {
+                    estimates.get(a).add(averages[a]);
+                }
+                replications++;
+                converged = replications >= minReplications && isConverged(estimates);
+            }
+            return new Report(estimates, replications, converged, confidence);
+        } finally {
+            // Drops replications started past the stopping point
+            executor.shutdownNow();
+        }
+    }
+    
+    // Average waiting, turnaround and response time of every algorithm on
+    // one generated workload
+    private double[][] replicate(List<CompactSchedulingAlgorithm> algorithmList, SplittableRandom random) {
+        CompactWorkload workload = new WorkloadGenerator(spec, random, processCount).toCompactWorkload();
+        double[][] averages = new double[algorithmList.size()][];
+        for (int a = 0; a < averages.length; a++) {
+            LatencyMetrics metrics = algorithmList.get(a).schedule(workload).getMetrics();
+            averages[a] = new double[] {
+                metrics.getWaitingTimes().getMean(),
+                metrics.getTurnaroundTimes().getMean(),
+                metrics.getResponseTimes().getMean()
+            };
+        }
+        return averages;
+    }
+    
+    private boolean isConverged(List<Estimate> estimates) {
+        for (Estimate estimate : estimates) {
+            if (!isNarrowEnough(estimate.getWaitingTime()) || !isNarrowEnough(estimate.getTurnaroundTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isNarrowEnough(RunningStatistics statistics) {
+        return statistics.getHalfWidth(confidence) <= targetRelativeHalfWidth * Math.abs(statistics.getMean());
+    }
+    
+    // Running statistics of one algorithm's averages over the replications
+    static class Estimate {
+        private final String name;
+        private final RunningStatistics waitingTime = new RunningStatistics();
+        private final RunningStatistics turnaroundTime = new RunningStatistics();
+        private final RunningStatistics responseTime = new RunningStatistics();
+        
+        Estimate(String name) {
+            this.name = name;
+        }
+        
+        private void add(double[] averages) {
+            waitingTime.add(averages[0]);
+            turnaroundTime.add(averages[1]);
+            responseTime.add(averages[2]);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public RunningStatistics getWaitingTime() {
+            return waitingTime;
+        }
+        
+        public RunningStatistics getTurnaroundTime() {
+            return turnaroundTime;
+        }
+        
+        public RunningStatistics getResponseTime() {
+            return responseTime;
+        }
+    }
+    
+    // Estimates, how many replications they took, and whether the target
+    // width was reached before the replication limit
+    static class Report {
+        private final List<Estimate> estimates;
+        private final int replications;
+        private final boolean converged;
+        private final double confidence;
+        
+        Report(List<Estimate> estimates, int replications, boolean converged, double confidence) {
+            this.estimates = estimates;
+            this.replications = replications;
+            this.converged = converged;
+            this.confidence = confidence;
+        }
+        
+        public List<Estimate> getEstimates() {
+            return estimates;
+        }
+        
+        public int getReplications() {
+            return replications;
+        }
+        
+        public boolean isConverged() {
+            return converged;
+        }
+        
+        public double getConfidence() {
+            return confidence;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+import java.util.*;
+
+// Bounded LRU cache of scheduling results, so re-running the same workload
+// with the same algorithm and parameters returns the earlier result instead
+// of scheduling again. Entries are keyed by a 64-bit fingerprint of the
+// workload plus the algorithm's configuration, and keep a copy of the
+// workload so a hit is only taken when the workloads are really equal, not
+// just their fingerprints. The cache is bounded by the
+// total number of Gantt chart entries it holds rather than by the number
+// of results, since one large run can outweigh thousands of small ones.
+// Results are shared between callers, so they must not be modified.
+class ResultCache {
+    private final long maxGanttEntries;
+    private final LinkedHashMap<Key, SchedulingResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long ganttEntries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    public ResultCache(long maxGanttEntries) {
+        if (maxGanttEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxGanttEntries = maxGanttEntries;
+    }
+    
+    // Returns the cached result, or schedules the processes and caches the
+    // result. The lock is not held while scheduling, so two threads missing
+    // on the same key both schedule it.
+    public SchedulingResult schedule(SchedulingAlgorithm algorithm, ArrayList<Process> processes) {
+        CompactWorkload workload = CompactWorkload.fromProcesses(processes);
+        Key key = new Key(fingerprint(workload), algorithm.getConfiguration(), workload);
+        synchronized (this) {
+            SchedulingResult result = results.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
+        
+        SchedulingResult result = algorithm.schedule(processes);
+        put(key, result);
+        return result;
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+    
+    public synchronized int size() {
+        return results.size();
+    }
+    
+    public synchronized long getGanttEntries() {
+        return ganttEntries;
+    }
+    
+    public synchronized void clear() {
+        results.clear();
+        ganttEntries = 0;
+    }
+    
+    public synchronized String summary() {
+        return "Cache: " + hits + " hits, " + misses + " misses, " + evictions + " evictions, "
+               + results.size() + " results (" + ganttEntries + " Gantt entries)";
+    }
+    
+    // Order-sensitive hash of the ids, arrival, burst times and priorities,
+    // and the CPU and I/O bursts of processes that have I/O. Ids are hashed
+    // a character at a time, since String.hashCode collides on ids as short
+    // as "Aa" and "BB".
+    public static long fingerprint(List<Process> processes) {
+        long hash = 0;
+        for (Process p : processes) {
+            hash = mix(hash, p.getId());
+            hash = mix(hash, p.getArrivalTime());
+            hash = mix(hash, p.getBurstTime());
+            hash = mix(hash, p.getPriority());
+            if (p.hasIoBursts()) {
+                for (int burst : p.getBursts()) {
+                    hash = mix(hash, burst);
+                }
+            }
+        }
+        return finish(hash);
+    }
+    
+    // Same fingerprint as the process list the workload was made from
+    public static long fingerprint(CompactWorkload workload) {
+        long hash = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            hash = mix(hash, workload.getId(i));
+            hash = mix(hash, workload.getArrivalTime(i));
+            hash = mix(hash, workload.getBurstTime(i));
+            hash = mix(hash, workload.getPriority(i));
+            if (workload.getBurstCount(i) > 1) {
+                for (int burst = 0; burst < workload.getBurstCount(i); burst++) {
+                    hash = mix(hash, workload.getBurst(i, burst));
+                }
+            }
+        }
+        return finish(hash);
+    }
+    
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x9e3779b97f4a7c15L + 0x632be59bd9b4e019L;
+    }
+    
+    // Length first, so ids that run into each other can't collide
+    private static long mix(long hash, String id) {
+        hash = mix(hash, id.length());
+        for (int i = 0; i < id.length(); i++) {
+            hash = mix(hash, id.charAt(i));
+        }
+        return hash;
+    }
+    
+    // Final avalanche step from MurmurHash3
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+    private synchronized void put(Key key, SchedulingResult result) {
+        long weight = weightOf(result);
+        if (weight > maxGanttEntries) {
+            // Would evict everything else and still not fit
+            return;
+        }
+        SchedulingResult previous = results.put(key, result);
+        if (previous != null) {
+            ganttEntries -= weightOf(previous);
+        }
+        ganttEntries += weight;
+        
+        // Evict least recently used results until back under the limit
+        Iterator<SchedulingResult> eldest = results.values().iterator();
+        while (ganttEntries > maxGanttEntries) {
+            ganttEntries -= weightOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+    
+    // Empty charts still count one, so the number of results stays bounded
+    private static long weightOf(SchedulingResult result) {
+        return Math.max(1, result.getGanttChart().size());
+    }
+    
+    private static final class Key {
+        private final long fingerprint;
+        private final String configuration;
+        private final CompactWorkload workload;
+        
+        Key(long fingerprint, String configuration, CompactWorkload workload) {
+            this.fingerprint = fingerprint;
+            this.configuration = configuration;
+            this.workload = workload;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fingerprint == other.fingerprint && configuration.equals(other.configuration)
+                   && workload.sameProcesses(other.workload);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + configuration.hashCode();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Writes per-process results as CSV through a FileChannel and a direct buffer,
+// formatting numbers without going through String
+class ResultFileWriter implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final byte[] digits = new byte[20];
+    
+    public ResultFileWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    
+    public static void write(CompactSchedulingResult result, Path path) throws IOException {
+        CompactWorkload workload = result.getWorkload();
+        try (ResultFileWriter writer = new ResultFileWriter(path)) {
+            writer.writeText("id,arrival,burst,waiting,turnaround\n");
+            for (int i = 0; i < workload.size(); i++) {
+                writer.writeText(workload.getId(i));
+                writer.writeByte(',');
+                writer.writeNumber(workload.getArrivalTime(i));
+                writer.writeByte(',');
+                writer.writeNumber(workload.getBurstTime(i));
+                writer.writeByte(',');
+                writer.writeNumber(result.getWaitingTime(i));
+                writer.writeByte(',');
+                writer.writeNumber(result.getTurnaroundTime(i));
+                writer.writeByte('\n');
+            }
+        }
+    }
+    
+    // Same layout, for results of the object-based schedulers
+    public static void write(CompactWorkload workload, SchedulingResult result, Path path) throws IOException {
+        try (ResultFileWriter writer = new ResultFileWriter(path)) {
+            writer.writeText("id,arrival,burst,waiting,turnaround\n");
+            for (int i = 0; i < workload.size(); i++) {
+                writer.writeText(workload.getId(i));
+                writer.writeByte(',');
+                writer.writeNumber(workload.getArrivalTime(i));
+                writer.writeByte(',');
+                writer.writeNumber(workload.getBurstTime(i));
+                writer.writeByte(',');
+                writer.writeNumber(result.getWaitingTimes().get(workload.getId(i)));
+                writer.writeByte(',');
+                writer.writeNumber(result.getTurnaroundTimes().get(workload.getId(i)));
+                writer.writeByte('\n');
+            }
+        }
+    }
+    
+    public void writeText(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            writeByte(text.charAt(i));
+        }
+    }
+    
+    public void writeNumber(long value) throws IOException {
+        if (value < 0) {
+            writeByte('-');
+            if (value == Long.MIN_VALUE) {
+                writeText("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        while (length > 0) {
+            writeByte(digits[--length]);
+        }
+    }
+    
+    public void writeByte(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) b);
+    }
+    
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.*;
+import javax.swing.table.AbstractTableModel;
+
+// Read-only table of per-process results, in the order the processes were
+// entered. Values are copied into arrays once, so scrolling through a large
+// run never touches the result maps.
+class ResultTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    
+    private static final String[] COLUMN_NAMES = {"Process ID", "Waiting Time", "Turnaround Time"};
+    
+    private String[] ids = new String[0];
+    private int[] waitingTimes = new int[0];
+    private int[] turnaroundTimes = new int[0];
+    
+    public void setResult(SchedulingResult result, List<Process> processes) {
+        int size = processes.size();
+        ids = new String[size];
+        waitingTimes = new int[size];
+        turnaroundTimes = new int[size];
+        Map<String, Integer> waiting = result.getWaitingTimes();
+        Map<String, Integer> turnaround = result.getTurnaroundTimes();
+        for (int i = 0; i < size; i++) {
+            ids[i] = processes.get(i).getId();
+            waitingTimes[i] = waiting.getOrDefault(ids[i], 0);
+            turnaroundTimes[i] = turnaround.getOrDefault(ids[i], 0);
+        }
+        fireTableDataChanged();
+    }
+    
+    @Override
+    public int getRowCount() {
+        return ids.length;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : Integer.class;
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case 0:
+                return ids[row];
+            case 1:
+                return waitingTimes[row];
+            default:
+                return turnaroundTimes[row];
+        }
+    }
+}
@@ -0,0 +1,380 @@
+import java.util.*;
+
+// Round Robin Algorithm
+class RoundRobin implements CheckpointableSchedulingAlgorithm, StreamingSchedulingAlgorithm {
+    private int quantum;
+    private boolean fastForward;
+    
+    public RoundRobin(int quantum) {
+        this(quantum, false);
+    }
+    
+    // With fastForward, the compact schedule skips whole rounds at once
+    // while no process completes and none arrives: every ready process just
+    // loses a quantum per round. Waiting, turnaround and response times are
+    // the same; back-to-back slices of the same process become one Gantt
+    // entry, so a lone long job is a single entry rather than one per quantum.
+    public RoundRobin(int quantum, boolean fastForward) {
+        this.quantum = quantum;
+        this.fastForward = fastForward;
+    }
+    
+    @Override
+    public String getConfiguration() {
+        return "RoundRobin(quantum=" + quantum + (fastForward ? ", fastForward=true" : "") + ")";
+    }
+    
+    public boolean isFastForward() {
+        return fastForward;
+    }
+    
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.roundRobin(quantum)).schedule(processes);
+        }
+        if (fastForward) {
+            return schedule(CompactWorkload.fromProcesses(processes)).toSchedulingResult();
+        }
+        
+        // Create copies of processes
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort by arrival time
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        
+        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        Map<String, Integer> completionTimes = new HashMap<>();
+        
+        int currentTime = 0;
+        int remainingProcesses = processList.size();
+        
+        // Positions in processArray
+        Queue<Integer> readyQueue = new LinkedList<>();
+        Process[] processArray = processList.toArray(new Process[0]);
+        int nextProcess = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, processArray.length);
+        
+        while (remainingProcesses > 0) {
+            monitor.checkpoint(currentTime, waitingTimes.size());
+            
+            // Add newly arrived processes to the ready queue
+            while (nextProcess < processArray.length && 
+                   processArray[nextProcess].getArrivalTime() <= currentTime) {
+                readyQueue.add(nextProcess);
+                nextProcess++;
+            }
+            
+            if (readyQueue.isEmpty()) {
+                // No process in ready queue, move time to next arrival
+                if (nextProcess < processArray.length) {
+                    currentTime = processArray[nextProcess].getArrivalTime();
+                    continue;
+                }
+                break;
+            }
+            
+            // Get next process from ready queue
+            int index = readyQueue.poll();
+            Process process = processArray[index];
+            
+            // Calculate execution time for this quantum
+            int executionTime = Math.min(quantum, process.getRemainingTime());
+            
+            int startTime = currentTime;
+            int endTime = startTime + executionTime;
+            
+            if (process.getRemainingTime() == process.getBurstTime()) {
+                metrics.recordFirstRun(process.getArrivalTime(), startTime);
+            }
+            
+            // Execute process
+            process.decreaseRemainingTime(executionTime);
+            currentTime = endTime;
+            
+            // Add to gantt chart
+            ganttChart.add(new GanttChartEntry(process.getId(), startTime, endTime));
+            stats.ran(index, startTime, endTime, readyQueue.size());
+            
+            // Add newly arrived processes during this execution
+            while (nextProcess < processArray.length && 
+                   processArray[nextProcess].getArrivalTime() <= currentTime) {
+                readyQueue.add(nextProcess);
+                nextProcess++;
+            }
+            
+            // If process is not finished, add it back to ready queue
+            if (process.getRemainingTime() > 0) {
+                readyQueue.add(index);
+            } else {
+                // Process is complete
+                stats.completed();
+                completionTimes.put(process.getId(), currentTime);
+                
+                // Calculate turnaround time
+                int turnaroundTime = currentTime - process.getArrivalTime();
+                turnaroundTimes.put(process.getId(), turnaroundTime);
+                
+                // Calculate waiting time (turnaround time - burst time)
+                int waitingTime = turnaroundTime - process.getBurstTime();
+                waitingTimes.put(process.getId(), waitingTime);
+                metrics.recordCompletion(process.getArrivalTime(), process.getBurstTime(), currentTime);
+                
+                remainingProcesses--;
+            }
+        }
+        
+        stats.finish();
+        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        return schedule(workload, new CompactGanttChart());
+    }
+    
+    // Pass a chart made with CompactGanttChart(false) when only the metrics
+    // are needed, e.g. in parameter sweeps
+    public CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart) {
+        return schedule(workload, ganttChart, Checkpointer.NONE, null);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart,
+                                            Checkpointer checkpointer) {
+        return schedule(workload, ganttChart, checkpointer, null);
+    }
+    
+    @Override
+    public CompactSchedulingResult resume(CompactWorkload workload, SchedulerCheckpoint checkpoint,
+                                          Checkpointer checkpointer) {
+        checkpoint.checkMatches(this, workload);
+        return schedule(workload, checkpoint.getGanttChart().copy(), checkpointer, checkpoint);
+    }
+    
+    private CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart,
+                                             Checkpointer checkpointer, SchedulerCheckpoint resumeFrom) {
+        if (workload.hasIoBursts()) {
+            if (checkpointer != Checkpointer.NONE || resumeFrom != null) {
+                throw new IllegalArgumentException("Workloads with I/O bursts cannot be checkpointed");
+            }
+            return new DiscreteEventScheduler(ReadyQueuePolicy.roundRobin(quantum)).schedule(workload, ganttChart);
+        }
+        
+        int[] order = workload.arrivalOrder();
+        int[] remainingTimes = new int[workload.size()];
+        
+        long[] waitingTimes = new long[workload.size()];
+        long[] turnaroundTimes = new long[workload.size()];
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        long currentTime = 0;
+        int remainingProcesses = order.length;
+        
+        IntRingQueue readyQueue = new IntRingQueue(16);
+        int nextProcess = 0;
+        
+        if (resumeFrom != null) {
+            remainingTimes = resumeFrom.getRemainingTimes().clone();
+            waitingTimes = resumeFrom.getWaitingTimes().clone();
+            turnaroundTimes = resumeFrom.getTurnaroundTimes().clone();
+            metrics = resumeFrom.getMetrics().copy();
+            for (long process : resumeFrom.getReadyQueue()) {
+                readyQueue.add((int) process);
+            }
+            long[] state = resumeFrom.getState();
+            currentTime = state[0];
+            remainingProcesses = (int) state[1];
+            nextProcess = (int) state[2];
+        }
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        SchedulerStats stats = SchedulerStats.start(this, workload.size());
+        long fingerprint = checkpointer != Checkpointer.NONE ? ResultCache.fingerprint(workload) : 0;
+        // Slices until the next fast-forward check. Checking scans the ready
+        // queue, so it is done at most once a round.
+        int untilFastForwardCheck = 0;
+        
+        while (remainingProcesses > 0) {
+            monitor.checkpoint(currentTime, order.length - remainingProcesses);
+            if (checkpointer.isDue()) {
+                int[] queued = readyQueue.toArray();
+                long[] queue = new long[queued.length];
+                for (int i = 0; i < queued.length; i++) {
+                    queue[i] = queued[i];
+                }
+                checkpointer.save(getConfiguration(), fingerprint,
+                    new long[] {currentTime, remainingProcesses, nextProcess},
+                    queue, remainingTimes, waitingTimes, turnaroundTimes, metrics, ganttChart);
+            }
+            
+            // Add newly arrived processes to the ready queue
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int process = order[nextProcess];
+                remainingTimes[process] = workload.getBurstTime(process);
+                readyQueue.add(process);
+                nextProcess++;
+            }
+            
+            if (readyQueue.isEmpty()) {
+                // No process in ready queue, move time to next arrival
+                if (nextProcess < order.length) {
+                    currentTime = workload.getArrivalTime(order[nextProcess]);
+                    continue;
+                }
+                break;
+            }
+            
+            if (fastForward && --untilFastForwardCheck <= 0) {
+                untilFastForwardCheck = readyQueue.size();
+                currentTime = skipRounds(workload, order, nextProcess, readyQueue, remainingTimes,
+                                         currentTime, ganttChart, metrics, stats);
+            }
+            
+            int process = readyQueue.poll();
+            int executionTime = Math.min(quantum, remainingTimes[process]);
+            
+            long startTime = currentTime;
+            long endTime = startTime + executionTime;
+            
+            if (remainingTimes[process] == workload.getBurstTime(process)) {
+                metrics.recordFirstRun(workload.getArrivalTime(process), startTime);
+            }
+            stats.ran(process, startTime, endTime, readyQueue.size());
+            remainingTimes[process] -= executionTime;
+            currentTime = endTime;
+            if (fastForward) {
+                ganttChart.addOrExtend(process, startTime, endTime);
+            } else {
+                ganttChart.add(process, startTime, endTime);
+            }
+            
+            // Add newly arrived processes during this execution
+            while (nextProcess < order.length &&
+                   workload.getArrivalTime(order[nextProcess]) <= currentTime) {
+                int arrived = order[nextProcess];
+                remainingTimes[arrived] = workload.getBurstTime(arrived);
+                readyQueue.add(arrived);
+                nextProcess++;
+            }
+            
+            if (remainingTimes[process] > 0) {
+                readyQueue.add(process);
+            } else {
+                turnaroundTimes[process] = currentTime - workload.getArrivalTime(process);
+                waitingTimes[process] = turnaroundTimes[process] - workload.getBurstTime(process);
+                metrics.recordCompletion(workload.getArrivalTime(process), workload.getBurstTime(process), currentTime);
+                stats.completed();
+                remainingProcesses--;
+            }
+        }
+        
+        stats.finish();
+        return new CompactSchedulingResult(workload, ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    // Runs as many whole rounds of the ready queue as can go by with every
+    // process using its full quantum and nothing arriving, and returns the
+    // time after them. The queue comes back in the same order after each
+    // round, so only the remaining times change. A lone process's rounds
+    // become one Gantt entry; rounds of several processes are still one
+    // entry per slice, as each slice is a context switch, but a chart that
+    // only counts entries just adds them up.
+    private long skipRounds(CompactWorkload workload, int[] order, int nextProcess, IntRingQueue readyQueue,
+                            int[] remainingTimes, long currentTime, CompactGanttChart ganttChart,
+                            LatencyMetrics metrics, SchedulerStats stats) {
+        int count = readyQueue.size();
+        int shortest = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            shortest = Math.min(shortest, remainingTimes[readyQueue.get(i)]);
+        }
+        // Every process must still have time left after the last round
+        long rounds = (shortest - 1) / quantum;
+        long roundLength = (long) count * quantum;
+        if (nextProcess < order.length) {
+            // and the next arrival must come after it
+            rounds = Math.min(rounds, (workload.getArrivalTime(order[nextProcess]) - currentTime - 1) / roundLength);
+        }
+        if (rounds <= 0) {
+            return currentTime;
+        }
+        
+        for (int i = 0; i < count; i++) {
+            int process = readyQueue.get(i);
+            if (remainingTimes[process] == workload.getBurstTime(process)) {
+                metrics.recordFirstRun(workload.getArrivalTime(process), currentTime + (long) i * quantum);
+            }
+            remainingTimes[process] -= (int) (rounds * quantum);
+        }
+        if (count == 1) {
+            int process = readyQueue.get(0);
+            stats.ran(process, currentTime, currentTime + rounds * quantum, 0);
+            ganttChart.addOrExtend(process, currentTime, currentTime + rounds * quantum);
+            return currentTime + rounds * quantum;
+        }
+        if (!ganttChart.isRecordingEntries() && !SchedulerStats.ENABLED) {
+            ganttChart.addUnrecorded(rounds * count, readyQueue.get(count - 1), currentTime + rounds * roundLength);
+            return currentTime + rounds * roundLength;
+        }
+        long startTime = currentTime;
+        for (long round = 0; round < rounds; round++) {
+            for (int i = 0; i < count; i++) {
+                stats.ran(readyQueue.get(i), startTime, startTime + quantum, count - 1);
+                ganttChart.addOrExtend(readyQueue.get(i), startTime, startTime + quantum);
+                startTime += quantum;
+            }
+        }
+        return startTime;
+    }
+    
+    @Override
+    public void schedule(Iterator<Process> arrivals, SchedulingSink sink) {
+        ArrivalCursor cursor = new ArrivalCursor(arrivals);
+        Queue<Process> readyQueue = new ArrayDeque<>();
+        int currentTime = 0;
+        
+        while (cursor.hasNext() || !readyQueue.isEmpty()) {
+            // Add newly arrived processes to the ready queue
+            while (cursor.hasNext() && cursor.peek().getArrivalTime() <= currentTime) {
+                readyQueue.add(cursor.next());
+            }
+            
+            if (readyQueue.isEmpty()) {
+                // No process in ready queue, move time to next arrival
+                currentTime = cursor.peek().getArrivalTime();
+                continue;
+            }
+            
+            Process process = readyQueue.poll();
+            int executionTime = Math.min(quantum, process.getRemainingTime());
+            
+            int startTime = currentTime;
+            int endTime = startTime + executionTime;
+            
+            process.decreaseRemainingTime(executionTime);
+            currentTime = endTime;
+            sink.ganttEntry(new GanttChartEntry(process.getId(), startTime, endTime));
+            
+            // Add newly arrived processes during this execution
+            while (cursor.hasNext() && cursor.peek().getArrivalTime() <= currentTime) {
+                readyQueue.add(cursor.next());
+            }
+            
+            if (process.getRemainingTime() > 0) {
+                readyQueue.add(process);
+            } else {
+                int turnaroundTime = currentTime - process.getArrivalTime();
+                sink.processCompleted(process, turnaroundTime - process.getBurstTime(), turnaroundTime);
+            }
+        }
+        
+        sink.finished();
+    }
+}
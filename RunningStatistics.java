@@ -0,0 +1,75 @@
+// Mean and variance of a stream of values, updated one value at a time with
+// Welford's algorithm so long runs don't lose precision, plus Student t
+// confidence intervals for the mean
+class RunningStatistics {
+    private long count;
+    private double mean;
+    private double sumOfSquares;
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (value - mean);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return mean;
+    }
+    
+    // Sample variance; 0 with fewer than two values
+    public double getVariance() {
+        return count > 1 ? sumOfSquares / (count - 1) : 0;
+    }
+    
+    public double getStandardError() {
+        return Math.sqrt(getVariance() / count);
+    }
+    
+    // Half the width of the confidence interval for the mean; infinite with
+    // fewer than two values
+    public double getHalfWidth(double confidence) {
+        if (count < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return studentT(1 - (1 - confidence) / 2, count - 1) * getStandardError();
+    }
+    
+    // Quantile of Student's t distribution with the given degrees of
+    // freedom, from the normal quantile with the Cornish-Fisher expansion.
+    // Within 0.1% of the exact value from 5 degrees of freedom up.
+    static double studentT(double p, long degreesOfFreedom) {
+        double z = normal(p);
+        double n = degreesOfFreedom;
+        double z2 = z * z;
+        return z
+               + z * (z2 + 1) / (4 * n)
+               + z * ((5 * z2 + 16) * z2 + 3) / (96 * n * n)
+               + z * (((3 * z2 + 19) * z2 + 17) * z2 - 15) / (384 * n * n * n);
+    }
+    
+    // Quantile of the standard normal distribution, by Acklam's rational
+    // approximation (relative error below 1.2e-9)
+    static double normal(double p) {
+        if (p < 0.5) {
+            return -normal(1 - p);
+        }
+        if (p > 0.97575) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                       - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                   / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                       + 3.754408661907416e+00) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                  + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+               / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                   + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+}
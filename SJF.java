@@ -0,0 +1,86 @@
+import java.util.*;
+
+// SJF Algorithm (Non-preemptive)
+class SJF implements SchedulingAlgorithm, CompactSchedulingAlgorithm {
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.SJF).schedule(processes);
+        }
+        
+        // Create copies of processes
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort by arrival time initially
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        
+        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        
+        int currentTime = 0;
+        ArrayList<Process> arrivedProcesses = new ArrayList<>();
+        int remainingProcesses = processList.size();
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        
+        while (remainingProcesses > 0) {
+            monitor.checkpoint(currentTime, waitingTimes.size());
+            
+            // Add newly arrived processes to the queue
+            Iterator<Process> iterator = processList.iterator();
+            while (iterator.hasNext()) {
+                Process process = iterator.next();
+                if (process.getArrivalTime() <= currentTime) {
+                    arrivedProcesses.add(process);
+                    iterator.remove();
+                }
+            }
+            
+            if (arrivedProcesses.isEmpty()) {
+                // No process has arrived yet, move time to next arrival
+                if (!processList.isEmpty()) {
+                    currentTime = processList.get(0).getArrivalTime();
+                    continue;
+                }
+                break;
+            }
+            
+            // Find shortest job
+            arrivedProcesses.sort(Comparator.comparingInt(Process::getBurstTime));
+            Process shortestJob = arrivedProcesses.remove(0);
+            
+            int startTime = currentTime;
+            int endTime = startTime + shortestJob.getBurstTime();
+            
+            // Calculate waiting time
+            int waitingTime = startTime - shortestJob.getArrivalTime();
+            waitingTimes.put(shortestJob.getId(), waitingTime);
+            
+            // Calculate turnaround time
+            int turnaroundTime = endTime - shortestJob.getArrivalTime();
+            turnaroundTimes.put(shortestJob.getId(), turnaroundTime);
+            
+            metrics.recordFirstRun(shortestJob.getArrivalTime(), startTime);
+            metrics.recordCompletion(shortestJob.getArrivalTime(), shortestJob.getBurstTime(), endTime);
+            
+            // Add to gantt chart
+            ganttChart.add(new GanttChartEntry(shortestJob.getId(), startTime, endTime));
+            
+            // Update current time
+            currentTime = endTime;
+            remainingProcesses--;
+        }
+        
+        return new SchedulingResult(ganttChart, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        // Same schedule, without the per-dispatch scan and sort
+        return new HeapSJF().schedule(workload);
+    }
+}
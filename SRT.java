@@ -0,0 +1,146 @@
+import java.util.*;
+
+// SRT Algorithm (Preemptive SJF)
+class SRT implements CheckpointableSchedulingAlgorithm {
+    @Override
+    public SchedulingResult schedule(ArrayList<Process> processes) {
+        if (DiscreteEventScheduler.hasIoBursts(processes)) {
+            return new DiscreteEventScheduler(ReadyQueuePolicy.SRT).schedule(processes);
+        }
+        
+        // Create copies of processes
+        ArrayList<Process> processList = new ArrayList<>();
+        for (Process p : processes) {
+            processList.add(p.clone());
+        }
+        
+        // Sort by arrival time
+        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+        
+        ArrayList<GanttChartEntry> ganttChart = new ArrayList<>();
+        Map<String, Integer> waitingTimes = new HashMap<>();
+        Map<String, Integer> turnaroundTimes = new HashMap<>();
+        LatencyMetrics metrics = new LatencyMetrics();
+        Map<String, Integer> completionTimes = new HashMap<>();
+        
+        int currentTime = 0;
+        int remainingProcesses = processList.size();
+        
+        // Tracks execution times for each process
+        Map<String, Integer> executionTimes = new HashMap<>();
+        for (Process p : processes) {
+            executionTimes.put(p.getId(), 0);
+        }
+        
+        String currentProcessId = null;
+        int currentProcessStartTime = 0;
+        SchedulingMonitor monitor = SchedulingMonitor.current();
+        
+        while (remainingProcesses > 0) {
+            monitor.checkpoint(currentTime, waitingTimes.size());
+            
+            // Find the process with shortest remaining time
+            Process shortestProcess = null;
+            int shortestRemainingTime = Integer.MAX_VALUE;
+            
+            // Check if any new processes arrived
+            for (Process process : processList) {
+                if (process.getArrivalTime() <= currentTime && process.getRemainingTime() > 0) {
+                    if (process.getRemainingTime() < shortestRemainingTime) {
+                        shortestProcess = process;
+                        shortestRemainingTime = process.getRemainingTime();
+                    }
+                }
+            }
+            
+            // If no process is available, move time forward
+            if (shortestProcess == null) {
+                currentTime++;
+                continue;
+            }
+            
+            // Process context switch - add to Gantt chart if there's a change
+            if (currentProcessId == null || !currentProcessId.equals(shortestProcess.getId())) {
+                if (currentProcessId != null) {
+                    ganttChart.add(new GanttChartEntry(currentProcessId, currentProcessStartTime, currentTime));
+                }
+                currentProcessId = shortestProcess.getId();
+                currentProcessStartTime = currentTime;
+            }
+            
+            if (shortestProcess.getRemainingTime() == shortestProcess.getBurstTime()) {
+                metrics.recordFirstRun(shortestProcess.getArrivalTime(), currentTime);
+            }
+            
+            // Execute process for 1 time unit
+            shortestProcess.decreaseRemainingTime(1);
+            executionTimes.put(shortestProcess.getId(), executionTimes.get(shortestProcess.getId()) + 1);
+            currentTime++;
+            
+            // If process is complete
+            if (shortestProcess.getRemainingTime() == 0) {
+                completionTimes.put(shortestProcess.getId(), currentTime);
+                
+                // Calculate turnaround time
+                int turnaroundTime = currentTime - shortestProcess.getArrivalTime();
+                turnaroundTimes.put(shortestProcess.getId(), turnaroundTime);
+                
+                // Calculate waiting time (turnaround time - burst time)
+                int waitingTime = turnaroundTime - shortestProcess.getBurstTime();
+                waitingTimes.put(shortestProcess.getId(), waitingTime);
+                metrics.recordCompletion(shortestProcess.getArrivalTime(), shortestProcess.getBurstTime(), currentTime);
+                
+                remainingProcesses--;
+                
+                // Add final entry to Gantt chart
+                ganttChart.add(new GanttChartEntry(currentProcessId, currentProcessStartTime, currentTime));
+                currentProcessId = null;
+            }
+        }
+        
+        // Optimize Gantt chart by combining consecutive entries of the same process
+        ArrayList<GanttChartEntry> optimizedGantt = new ArrayList<>();
+        if (!ganttChart.isEmpty()) {
+            GanttChartEntry currentEntry = ganttChart.get(0);
+            
+            for (int i = 1; i < ganttChart.size(); i++) {
+                GanttChartEntry nextEntry = ganttChart.get(i);
+                
+                if (currentEntry.getProcessId().equals(nextEntry.getProcessId()) && 
+                    currentEntry.getEndTime() == nextEntry.getStartTime()) {
+                    // Combine entries
+                    currentEntry = new GanttChartEntry(
+                        currentEntry.getProcessId(),
+                        currentEntry.getStartTime(),
+                        nextEntry.getEndTime()
+                    );
+                } else {
+                    optimizedGantt.add(currentEntry);
+                    currentEntry = nextEntry;
+                }
+            }
+            
+            optimizedGantt.add(currentEntry);
+        }
+        
+        return new SchedulingResult(optimizedGantt, waitingTimes, turnaroundTimes, metrics);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload) {
+        // Same schedule, without stepping one time unit at a time
+        return new EventDrivenSRT().schedule(workload);
+    }
+    
+    @Override
+    public CompactSchedulingResult schedule(CompactWorkload workload, CompactGanttChart ganttChart,
+                                            Checkpointer checkpointer) {
+        return new EventDrivenSRT().schedule(workload, ganttChart, checkpointer);
+    }
+    
+    @Override
+    public CompactSchedulingResult resume(CompactWorkload workload, SchedulerCheckpoint checkpoint,
+                                          Checkpointer checkpointer) {
+        return new EventDrivenSRT().resume(workload, checkpoint, checkpointer);
+    }
+}
@@ -0,0 +1,211 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.text.DecimalFormat;
+import java.util.*;
+
+// Benchmark for FCFS, SJF, SRT and Round Robin over parameterized workloads.
+// Every combination of process count, burst distribution, load and quantum
+// gets warmup iterations followed by measured iterations, and reports
+// throughput plus allocation rate and GC activity, e.g.
+//   java SchedulerBenchmark --processes=10,1000,100000,1000000 --bursts=uniform,exponential,pareto
+//                           --load=0.5,0.9,1.2 --quanta=1,4,16 --out=bench.csv
+class SchedulerBenchmark {
+    private static final String USAGE =
+        "Usage: java SchedulerBenchmark [--algos=fcfs,sjf,srt,rr,mlfq,cfs] [--api=compact|object] [--processes=N,...]"
+        + " [--bursts=uniform,exponential,pareto,bimodal] [--load=L,...] [--quanta=Q,...] [--warmup=N]"
+        + " [--iterations=N] [--time=MS] [--seed=N] [--out=FILE]";
+    
+    private static final int MEAN_BURST_TIME = 20;
+    
+    // Results are folded into this so the JIT cannot drop the runs
+    private static volatile double sink;
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BatchRunner.parseOptions(args);
+        if (options == null || options.containsKey("help")) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        
+        String[] algorithms = options.getOrDefault("algos", "fcfs,sjf,srt,rr").split(",");
+        boolean objectApi = options.getOrDefault("api", "compact").equals("object");
+        int[] processCounts = parseInts(options.getOrDefault("processes", "10,1000,100000,1000000"));
+        String[] burstDistributions = options.getOrDefault("bursts", "uniform,exponential,pareto").split(",");
+        double[] loads = parseDoubles(options.getOrDefault("load", "0.5,0.9,1.2"));
+        int[] quanta = parseInts(options.getOrDefault("quanta", "1,4,16"));
+        int warmupIterations = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        int measuredIterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        long iterationNanos = Long.parseLong(options.getOrDefault("time", "1000")) * 1_000_000L;
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        
+        DecimalFormat df = new DecimalFormat("#.###");
+        StringBuilder csv = new StringBuilder(
+            "algorithm,api,processes,bursts,load,quantum,ops_per_second,ms_per_op,alloc_mb_per_second,"
+            + "bytes_per_op,gc_count,gc_ms\n");
+        System.out.println(String.format("%-5s %-8s %9s %-12s %5s %4s %12s %12s %14s %16s %6s",
+                                         "Algo", "API", "Processes", "Bursts", "Load", "Q", "ops/s", "ms/op",
+                                         "alloc MB/s", "bytes/op", "GCs"));
+        
+        for (int processCount : processCounts) {
+            for (String bursts : burstDistributions) {
+                for (double load : loads) {
+                    CompactWorkload workload = generateWorkload(processCount, bursts, load, seed);
+                    ArrayList<Process> processes = objectApi ? workload.toProcesses() : null;
+                    
+                    for (String algorithm : algorithms) {
+                        // The quantum only matters for Round Robin, MLFQ and CFS
+                        boolean usesQuantum = algorithm.equals("rr") || algorithm.equals("mlfq") || algorithm.equals("cfs");
+                        int[] algorithmQuanta = usesQuantum ? quanta : new int[]{0};
+                        for (int quantum : algorithmQuanta) {
+                            Runnable operation = createOperation(algorithm, quantum, workload, processes, objectApi);
+                            
+                            for (int i = 0; i < warmupIterations; i++) {
+                                runIteration(operation, iterationNanos);
+                            }
+                            
+                            long operations = 0;
+                            long gcCount = gcCount();
+                            long gcTime = gcTime();
+                            long allocated = threads.getThreadAllocatedBytes(threadId);
+                            long start = System.nanoTime();
+                            for (int i = 0; i < measuredIterations; i++) {
+                                operations += runIteration(operation, iterationNanos);
+                            }
+                            long elapsed = System.nanoTime() - start;
+                            allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+                            gcCount = gcCount() - gcCount;
+                            gcTime = gcTime() - gcTime;
+                            
+                            double seconds = elapsed / 1e9;
+                            double opsPerSecond = operations / seconds;
+                            double msPerOp = elapsed / 1e6 / operations;
+                            double allocRate = allocated / seconds / (1024 * 1024);
+                            long bytesPerOp = allocated / operations;
+                            String api = objectApi ? "object" : "compact";
+                            
+                            System.out.println(String.format("%-5s %-8s %9d %-12s %5s %4s %12s %12s %14s %16d %6d",
+                                                             algorithm, api, processCount, bursts, df.format(load),
+                                                             quantum == 0 ? "-" : String.valueOf(quantum),
+                                                             df.format(opsPerSecond), df.format(msPerOp),
+                                                             df.format(allocRate), bytesPerOp, gcCount));
+                            csv.append(algorithm).append(',').append(api).append(',').append(processCount)
+                               .append(',').append(bursts).append(',').append(load).append(',').append(quantum)
+                               .append(',').append(opsPerSecond).append(',').append(msPerOp)
+                               .append(',').append(allocRate).append(',').append(bytesPerOp)
+                               .append(',').append(gcCount).append(',').append(gcTime).append('\n');
+                        }
+                    }
+                }
+            }
+        }
+        
+        if (options.containsKey("out")) {
+            try (ResultFileWriter writer = new ResultFileWriter(java.nio.file.Paths.get(options.get("out")))) {
+                writer.writeText(csv.toString());
+            }
+        }
+    }
+    
+    // Runs the operation until the iteration time is used up, at least once
+    private static long runIteration(Runnable operation, long iterationNanos) {
+        long operations = 0;
+        long start = System.nanoTime();
+        do {
+            operation.run();
+            operations++;
+        } while (System.nanoTime() - start < iterationNanos);
+        return operations;
+    }
+    
+    private static Runnable createOperation(String algorithm, int quantum, CompactWorkload workload,
+                                            ArrayList<Process> processes, boolean objectApi) {
+        if (objectApi) {
+            SchedulingAlgorithm scheduler;
+            switch (algorithm) {
+                case "fcfs":
+                    scheduler = new FCFS();
+                    break;
+                case "sjf":
+                    scheduler = new SJF();
+                    break;
+                case "srt":
+                    scheduler = new SRT();
+                    break;
+                case "rr":
+                    scheduler = new RoundRobin(quantum);
+                    break;
+                case "mlfq":
+                    scheduler = new MLFQ(quantum);
+                    break;
+                case "cfs":
+                    scheduler = new CFS(quantum);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+            }
+            return () -> sink += scheduler.schedule(processes).getAverageWaitingTime();
+        }
+        CompactSchedulingAlgorithm scheduler = BatchRunner.createAlgorithm(algorithm, String.valueOf(quantum));
+        return () -> sink += scheduler.schedule(workload).getAverageWaitingTime();
+    }
+    
+    // Poisson arrivals whose rate gives the requested load (mean burst time
+    // divided by mean inter-arrival time) and bursts from the named distribution
+    static CompactWorkload generateWorkload(int processCount, String bursts, double load, long seed) {
+        WorkloadGenerator.BurstDistribution distribution;
+        try {
+            distribution = WorkloadGenerator.BurstDistribution.valueOf(bursts.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown burst distribution: " + bursts);
+        }
+        WorkloadSpec spec = new WorkloadSpec()
+            .setBurstDistribution(distribution)
+            .setMeanBurstTime(MEAN_BURST_TIME)
+            .setMeanInterArrivalTime(MEAN_BURST_TIME / load);
+        if (distribution == WorkloadGenerator.BurstDistribution.BIMODAL) {
+            // Short and long means chosen so the overall mean stays MEAN_BURST_TIME
+            spec.setShortBurstTime(MEAN_BURST_TIME / 2.0)
+                .setLongBurstTime(MEAN_BURST_TIME * 10.5)
+                .setLongJobFraction(0.05);
+        }
+        return new WorkloadGenerator(spec, seed, processCount).toCompactWorkload();
+    }
+    
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+    
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+    
+    private static int[] parseInts(String text) {
+        String[] parts = text.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+    
+    private static double[] parseDoubles(String text) {
+        String[] parts = text.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+}
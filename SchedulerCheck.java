@@ -0,0 +1,605 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Checks that the fast scheduling paths give exactly the results of the
+// reference algorithms they stand in for, on seeded random workloads, e.g.
+//   java SchedulerCheck --workloads=1000 --seed=7
+// Prints one line per check and exits with status 1 if any of them failed.
+class SchedulerCheck {
+    private static final String USAGE = "Usage: java SchedulerCheck [--workloads=N] [--seed=N]";
+    
+    // Runs one check on one workload, returning null if it passed or what
+    // went wrong
+    interface Check {
+        String run(ArrayList<Process> processes) throws Exception;
+    }
+    
+    private static int failedChecks;
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BatchRunner.parseOptions(args);
+        if (options == null || options.containsKey("help")) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        int workloadCount = Integer.parseInt(options.getOrDefault("workloads", "300"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        
+        Random random = new Random(seed);
+        ArrayList<ArrayList<Process>> workloads = new ArrayList<>();
+        for (int i = 0; i < workloadCount; i++) {
+            workloads.add(randomWorkload(random));
+        }
+        
+        check("EventDrivenSRT matches SRT", workloads, processes -> {
+            String expected = describe(new SRT().schedule(copy(processes)));
+            return mismatch(expected,
+                            describe(new EventDrivenSRT().schedule(copy(processes))),
+                            describe(new EventDrivenSRT().schedule(CompactWorkload.fromProcesses(processes))
+                                                         .toSchedulingResult()));
+        });
+        check("HeapSJF matches SJF", workloads, processes -> {
+            String expected = describe(new SJF().schedule(copy(processes)));
+            return mismatch(expected,
+                            describe(new HeapSJF().schedule(copy(processes))),
+                            describe(new HeapSJF().schedule(CompactWorkload.fromProcesses(processes))
+                                                  .toSchedulingResult()));
+        });
+        check("DiscreteEventScheduler matches FCFS, SJF, SRT and Round Robin", workloads, processes -> {
+            SchedulingAlgorithm[] references = {new FCFS(), new SJF(), new SRT(), new RoundRobin(1), new RoundRobin(4)};
+            ReadyQueuePolicy[] policies = {ReadyQueuePolicy.FCFS, ReadyQueuePolicy.SJF, ReadyQueuePolicy.SRT,
+                                           ReadyQueuePolicy.roundRobin(1), ReadyQueuePolicy.roundRobin(4)};
+            for (int i = 0; i < policies.length; i++) {
+                DiscreteEventScheduler scheduler = new DiscreteEventScheduler(policies[i]);
+                String failure = mismatch(describe(references[i].schedule(copy(processes))),
+                                          describe(scheduler.schedule(copy(processes))),
+                                          describe(scheduler.schedule(CompactWorkload.fromProcesses(processes))
+                                                            .toSchedulingResult()));
+                if (failure != null) {
+                    return policies[i].getConfiguration() + ": " + failure;
+                }
+            }
+            return null;
+        });
+        check("Fast-forward Round Robin matches Round Robin", workloads, processes -> {
+            for (int quantum : new int[]{1, 3}) {
+                RoundRobin fastForward = new RoundRobin(quantum, true);
+                String failure = mismatch(describe(merged(new RoundRobin(quantum).schedule(copy(processes)))),
+                                          describe(fastForward.schedule(copy(processes))),
+                                          describe(fastForward.schedule(CompactWorkload.fromProcesses(processes))
+                                                              .toSchedulingResult()));
+                if (failure != null) {
+                    return "quantum " + quantum + ": " + failure;
+                }
+            }
+            return null;
+        });
+        check("Streaming FCFS and Round Robin match their batch runs", workloads, processes -> {
+            StreamingSchedulingAlgorithm[] algorithms = {new FCFS(), new RoundRobin(1), new RoundRobin(4)};
+            for (StreamingSchedulingAlgorithm algorithm : algorithms) {
+                // Streaming takes arrivals in arrival order
+                ArrayList<Process> arrivals = copy(processes);
+                arrivals.sort(Comparator.comparingInt(Process::getArrivalTime));
+                CollectingSink sink = new CollectingSink();
+                algorithm.schedule(arrivals.iterator(), sink);
+                SchedulingAlgorithm batch = (SchedulingAlgorithm) algorithm;
+                String failure = mismatch(describe(batch.schedule(copy(processes))), describe(sink.getResult()));
+                if (failure != null) {
+                    return batch.getConfiguration() + ": " + failure;
+                }
+            }
+            return null;
+        });
+        check("MLFQ with one level and no boost matches Round Robin", workloads, processes -> {
+            for (int quantum : new int[]{1, 3}) {
+                MLFQ mlfq = new MLFQ(new int[]{quantum}, 0);
+                String failure = mismatch(describe(new RoundRobin(quantum).schedule(copy(processes))),
+                                          describe(mlfq.schedule(copy(processes))));
+                if (failure != null) {
+                    return "quantum " + quantum + ": " + failure;
+                }
+            }
+            return null;
+        });
+        // Boost intervals short enough to boost several times in most
+        // workloads, and quanta that demote long jobs to the lowest level
+        check("MLFQ matches a tick-by-tick reference", workloads, processes -> {
+            int[][] quanta = {{2, 4, 8}, {1, 2, 4}, {3, 5}, {1, 1, 1, 1}};
+            long[] boostIntervals = {80, 10, 0, 7};
+            for (int i = 0; i < quanta.length; i++) {
+                MLFQ mlfq = new MLFQ(quanta[i], boostIntervals[i]);
+                String failure = mismatch(describe(ReferenceSchedulers.mlfq(copy(processes), quanta[i],
+                                                                            boostIntervals[i])),
+                                          describe(mlfq.schedule(copy(processes))));
+                if (failure != null) {
+                    return mlfq.getConfiguration() + ": " + failure;
+                }
+            }
+            return null;
+        });
+        check("PriorityScheduling matches a tick-by-tick reference", workloads, processes -> {
+            for (boolean preemptive : new boolean[]{false, true}) {
+                for (int agingInterval : new int[]{0, 1, 3, 10}) {
+                    PriorityScheduling scheduler = new PriorityScheduling(preemptive, agingInterval);
+                    String failure = mismatch(describe(ReferenceSchedulers.priority(copy(processes), preemptive,
+                                                                                    agingInterval)),
+                                              describe(scheduler.schedule(copy(processes))));
+                    if (failure != null) {
+                        return scheduler.getConfiguration() + ": " + failure;
+                    }
+                }
+            }
+            return null;
+        });
+        // P2 waits behind P1 long enough to age past P3, which would run
+        // first without aging
+        ArrayList<Process> agingWorkload = new ArrayList<>(Arrays.asList(
+            new Process("P1", 0, 10, 0), new Process("P2", 1, 2, 5), new Process("P3", 9, 2, 2)));
+        check("PriorityScheduling with aging runs a process that aged past a later one first",
+              Collections.singletonList(agingWorkload), processes -> {
+            String failure = mismatch("P1(0-10) P2(10-12) P3(12-14) ",
+                                      ganttOf(new PriorityScheduling(false, 2).schedule(copy(processes))),
+                                      ganttOf(new PriorityScheduling(true, 2).schedule(copy(processes))));
+            return failure != null ? failure : mismatch("P1(0-10) P3(10-12) P2(12-14) ",
+                                                        ganttOf(new PriorityScheduling(false).schedule(copy(processes))));
+        });
+        // Also with priorities spread over the whole nice range and beyond
+        check("CFS matches a tick-by-tick reference", workloads, processes -> {
+            ArrayList<Process> niced = new ArrayList<>();
+            for (Process p : processes) {
+                niced.add(new Process(p.getId(), p.getArrivalTime(), p.getBurstTime(), p.getPriority() * 12 - 25));
+            }
+            int[][] parameters = {{6, 1}, {20, 2}, {4, 3}};
+            for (ArrayList<Process> workload : Arrays.asList(processes, niced)) {
+                for (int[] parameter : parameters) {
+                    CFS cfs = new CFS(parameter[0], parameter[1]);
+                    String failure = mismatch(describe(ReferenceSchedulers.cfs(copy(workload), parameter[0],
+                                                                               parameter[1])),
+                                              describe(cfs.schedule(copy(workload))));
+                    if (failure != null) {
+                        return cfs.getConfiguration() + (workload == niced ? " with nice values" : "") + ": "
+                               + failure;
+                    }
+                }
+            }
+            return null;
+        });
+        // When P3 arrives at 18, P2 is ahead of the leftmost process P1 by
+        // less than minGranularity at P1's low weight, though by more than it
+        // at P3's high one. Preemption goes by the leftmost process, so P2
+        // keeps running to the end of its slice.
+        ArrayList<Process> cfsWorkload = new ArrayList<>(Arrays.asList(
+            new Process("P1", 0, 30, 5), new Process("P2", 0, 30, 0), new Process("P3", 18, 5, -20)));
+        check("CFS weights nice values as Linux does and preempts by the leftmost process",
+              Collections.singletonList(cfsWorkload), processes -> {
+            int[] nice = {-30, -20, -1, 0, 1, 19, 30};
+            int[] weights = {88761, 88761, 1277, 1024, 820, 15, 15};
+            for (int i = 0; i < nice.length; i++) {
+                if (CFS.weightOf(nice[i]) != weights[i]) {
+                    return "weight of nice " + nice[i] + " was " + CFS.weightOf(nice[i]) + ", expected " + weights[i];
+                }
+            }
+            return mismatch("P1(0-4) P2(4-19) P1(19-20) P3(20-25) P2(25-40) P1(40-65) ",
+                            ganttOf(new CFS(20, 2).schedule(copy(processes))));
+        });
+        check("MultiCoreScheduler on one core matches FCFS, SJF, SRT and Round Robin", workloads, processes -> {
+            SchedulingAlgorithm[] references = {new FCFS(), new SJF(), new SRT(), new RoundRobin(1), new RoundRobin(4)};
+            MultiCoreScheduler.Policy[] policies = {MultiCoreScheduler.Policy.FCFS, MultiCoreScheduler.Policy.SJF,
+                                                    MultiCoreScheduler.Policy.SRT, MultiCoreScheduler.Policy.RR,
+                                                    MultiCoreScheduler.Policy.RR};
+            int[] quanta = {0, 0, 0, 1, 4};
+            for (int i = 0; i < policies.length; i++) {
+                String expected = describe(references[i].schedule(copy(processes)));
+                for (MultiCoreScheduler.QueueMode queueMode : MultiCoreScheduler.QueueMode.values()) {
+                    MultiCoreScheduler scheduler = new MultiCoreScheduler(policies[i], quanta[i], 1, queueMode, true);
+                    String failure = mismatch(expected, describe(scheduler.schedule(copy(processes))));
+                    if (failure != null) {
+                        return scheduler.getConfiguration() + ": " + failure;
+                    }
+                }
+            }
+            return null;
+        });
+        check("MultiCoreScheduler runs each process on one core at a time for its whole burst", workloads,
+              processes -> {
+            for (int cores = 2; cores <= 4; cores++) {
+                for (MultiCoreScheduler.Policy policy : MultiCoreScheduler.Policy.values()) {
+                    for (MultiCoreScheduler.QueueMode queueMode : MultiCoreScheduler.QueueMode.values()) {
+                        for (boolean workStealing : new boolean[]{false, true}) {
+                            MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, 3, cores, queueMode,
+                                                                                  workStealing);
+                            String failure = checkMultiCore(scheduler.schedule(copy(processes)), processes);
+                            if (failure != null) {
+                                return scheduler.getConfiguration() + ": " + failure;
+                            }
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        // "Aa" and "BB" have the same String.hashCode, and so does any id
+        // they prefix
+        check("ResultCache and checkpoints tell apart ids with the same hash code", workloads, processes -> {
+            ArrayList<Process> first = renamed(processes, "Aa");
+            ArrayList<Process> second = renamed(processes, "BB");
+            if (ResultCache.fingerprint(first) == ResultCache.fingerprint(second)) {
+                return "fingerprints are equal";
+            }
+            ResultCache cache = new ResultCache(1 << 20);
+            cache.schedule(new FCFS(), first);
+            return mismatch(describe(new FCFS().schedule(copy(second))),
+                            describe(cache.schedule(new FCFS(), second)));
+        });
+        check("Gantt traces read back by time range give the entries in that range", workloads,
+              processes -> checkTrace(new RoundRobin(1).schedule(CompactWorkload.fromProcesses(processes))));
+        for (CheckpointableSchedulingAlgorithm algorithm : new CheckpointableSchedulingAlgorithm[]{
+                 new SRT(), new EventDrivenSRT(), new RoundRobin(1), new RoundRobin(4),
+                 new RoundRobin(1, true), new RoundRobin(3, true)}) {
+            check(algorithm.getConfiguration() + " resumes from checkpoint files", workloads,
+                  processes -> checkResumes(algorithm, CompactWorkload.fromProcesses(processes)));
+        }
+        
+        // Snapshots are only taken every thousand or so loop iterations, so
+        // incremental runs need larger workloads to resume at all
+        ArrayList<ArrayList<Process>> largeWorkloads = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, workloadCount / 20); i++) {
+            largeWorkloads.add(randomLargeWorkload(random));
+        }
+        Random editRandom = new Random(seed);
+        int[] resumedRuns = new int[1];
+        for (CheckpointableSchedulingAlgorithm algorithm : new CheckpointableSchedulingAlgorithm[]{
+                 new EventDrivenSRT(), new SRT(), new RoundRobin(4), new RoundRobin(3, true)}) {
+            check("IncrementalScheduler with " + algorithm.getConfiguration() + " matches full runs after edits",
+                  largeWorkloads, processes -> checkIncremental(algorithm, processes, editRandom, resumedRuns));
+        }
+        if (resumedRuns[0] == 0) {
+            failedChecks++;
+            System.out.println("FAIL IncrementalScheduler never resumed from a snapshot");
+        } else {
+            System.out.println("ok   IncrementalScheduler resumed from a snapshot in " + resumedRuns[0] + " runs");
+        }
+        
+        System.out.println(failedChecks == 0 ? "All checks passed" : failedChecks + " checks failed");
+        System.exit(failedChecks == 0 ? 0 : 1);
+    }
+    
+    private static void check(String name, List<ArrayList<Process>> workloads, Check check) throws Exception {
+        for (ArrayList<Process> processes : workloads) {
+            String failure = check.run(processes);
+            if (failure != null) {
+                failedChecks++;
+                System.out.println("FAIL " + name + ": " + failure);
+                System.out.println("     on " + describeWorkload(processes));
+                return;
+            }
+        }
+        System.out.println("ok   " + name + " (" + workloads.size() + " workloads)");
+    }
+    
+    // Null if every actual description equals the expected one, otherwise
+    // both around the first difference
+    static String mismatch(String expected, String... actual) {
+        for (int i = 0; i < actual.length; i++) {
+            if (!actual[i].equals(expected)) {
+                int at = 0;
+                while (at < expected.length() && at < actual[i].length() && expected.charAt(at) == actual[i].charAt(at)) {
+                    at++;
+                }
+                return "result " + (i + 1) + " was ..." + excerpt(actual[i], at) + "..., expected ..."
+                       + excerpt(expected, at) + "...";
+            }
+        }
+        return null;
+    }
+    
+    private static String excerpt(String description, int at) {
+        return description.substring(Math.max(0, at - 60), Math.min(description.length(), at + 60));
+    }
+    
+    // Takes about eight checkpoints through a real Checkpointer, reads each
+    // one back from disk as soon as it is written and resumes from it. The
+    // resumed runs, and the checkpointed run itself, must all match an
+    // uninterrupted run, with a chart that records entries and with one
+    // that only counts them.
+    static String checkResumes(CheckpointableSchedulingAlgorithm algorithm, CompactWorkload workload)
+            throws IOException {
+        Path path = Files.createTempFile("scheduler-check", ".ckpt");
+        try {
+            for (boolean recordEntries : new boolean[]{true, false}) {
+                String expected = describe(algorithm.schedule(workload, new CompactGanttChart(recordEntries),
+                                                              Checkpointer.NONE));
+                long[] iterations = new long[1];
+                algorithm.schedule(workload, new CompactGanttChart(recordEntries), new Checkpointer() {
+                    @Override
+                    public boolean isDue() {
+                        iterations[0]++;
+                        return false;
+                    }
+                });
+                long interval = Math.max(1, iterations[0] / 8);
+                
+                ArrayList<String> results = new ArrayList<>();
+                Checkpointer checkpointer = new Checkpointer(path, 1) {
+                    private long iteration;
+                    
+                    @Override
+                    public boolean isDue() {
+                        return ++iteration % interval == 0;
+                    }
+                    
+                    @Override
+                    public void save(SchedulerCheckpoint checkpoint) {
+                        super.save(checkpoint);
+                        awaitPendingWrite();
+                        try {
+                            results.add(describe(algorithm.resume(workload, SchedulerCheckpoint.read(path),
+                                                                  Checkpointer.NONE)));
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    }
+                };
+                try {
+                    results.add(0, describe(algorithm.schedule(workload, new CompactGanttChart(recordEntries),
+                                                               checkpointer)));
+                } finally {
+                    checkpointer.close();
+                }
+                if (checkpointer.getFailure() != null) {
+                    throw checkpointer.getFailure();
+                }
+                String failure = mismatch(expected, results.toArray(new String[0]));
+                if (failure != null) {
+                    return (recordEntries ? "" : "chart without entries: ") + failure;
+                }
+            }
+            return null;
+        } finally {
+            SchedulerCheckpoint.delete(path);
+        }
+    }
+    
+    // Edits one process at a time, mostly late arrivals so that runs can
+    // resume, and compares every incremental result with a full run. Edits
+    // go through both APIs, and one edit changes nothing.
+    // Writes the result's Gantt chart as a trace, with the default block size
+    // and with blocks of a few segments each, reads it back over windows
+    // across the whole run and compares each with the entries overlapping it
+    static String checkTrace(CompactSchedulingResult result) throws IOException {
+        List<GanttChartEntry> entries = result.toSchedulingResult().getGanttChart();
+        long endTime = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).getEndTime();
+        Path path = Files.createTempFile("scheduler-check", ".trace");
+        try {
+            for (int blockSize : new int[]{GanttTraceWriter.DEFAULT_BLOCK_SIZE, 64}) {
+                if (blockSize == GanttTraceWriter.DEFAULT_BLOCK_SIZE) {
+                    GanttTraceWriter.write(result, path);
+                } else {
+                    try (GanttTraceWriter writer = new GanttTraceWriter(path, blockSize)) {
+                        for (GanttChartEntry entry : entries) {
+                            writer.add(entry.getProcessId(), entry.getStartTime(), entry.getEndTime());
+                        }
+                    }
+                }
+                try (GanttTraceReader reader = new GanttTraceReader(path)) {
+                    if (reader.getSegmentCount() != entries.size() || reader.getEndTime() != endTime) {
+                        return "block size " + blockSize + ": " + reader.getSegmentCount() + " segments ending at "
+                               + reader.getEndTime() + ", expected " + entries.size() + " ending at " + endTime;
+                    }
+                    for (long fromTime = 0; fromTime <= endTime; fromTime += Math.max(1, endTime / 5)) {
+                        for (long toTime : new long[]{fromTime + 1, fromTime + endTime / 3 + 1, endTime + 1}) {
+                            ArrayList<GanttChartEntry> expected = new ArrayList<>();
+                            for (GanttChartEntry entry : entries) {
+                                if (entry.getEndTime() > fromTime && entry.getStartTime() < toTime) {
+                                    expected.add(entry);
+                                }
+                            }
+                            String failure = mismatch(ganttOf(expected), ganttOf(reader.readEntries(fromTime, toTime)));
+                            if (failure != null) {
+                                return "block size " + blockSize + ", " + fromTime + " to " + toTime + ": " + failure;
+                            }
+                        }
+                    }
+                }
+            }
+            return null;
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+    
+    static String checkIncremental(CheckpointableSchedulingAlgorithm algorithm, ArrayList<Process> processes,
+                                   Random random, int[] resumedRuns) {
+        IncrementalScheduler scheduler = new IncrementalScheduler(algorithm);
+        ArrayList<Process> edited = copy(processes);
+        ArrayList<Process> byArrival = new ArrayList<>(edited);
+        byArrival.sort(Comparator.comparingInt(Process::getArrivalTime));
+        for (int edit = 0; edit < 8; edit++) {
+            if (edit > 0 && edit != 4) {
+                String id = random.nextBoolean()
+                            ? byArrival.get(byArrival.size() - 1 - random.nextInt(Math.max(1, byArrival.size() / 4))).getId()
+                            : byArrival.get(random.nextInt(byArrival.size())).getId();
+                int index = Integer.parseInt(id.substring(1)) - 1;
+                Process process = edited.get(index);
+                int arrivalTime = random.nextBoolean() ? process.getArrivalTime()
+                                                       : Math.max(0, process.getArrivalTime() + random.nextInt(21) - 10);
+                int burstTime = Math.max(1, process.getBurstTime() + random.nextInt(11) - 5);
+                edited.set(index, new Process(id, arrivalTime, burstTime, process.getPriority()));
+            }
+            String failure;
+            if (edit % 2 == 0) {
+                failure = mismatch(describe(algorithm.schedule(copy(edited))),
+                                   describe(scheduler.schedule(copy(edited))));
+            } else {
+                CompactWorkload workload = CompactWorkload.fromProcesses(edited);
+                failure = mismatch(describe(algorithm.schedule(workload)), describe(scheduler.schedule(workload)));
+            }
+            if (failure != null) {
+                return "edit " + edit + ": " + failure;
+            }
+            if (scheduler.getLastResumeTime() >= 0) {
+                resumedRuns[0]++;
+            }
+        }
+        return null;
+    }
+    
+    // A mix of busy and sparse arrivals, short and long bursts, and tied
+    // arrival and burst times
+    static ArrayList<Process> randomWorkload(Random random) {
+        int size = 1 + random.nextInt(40);
+        int arrivalSpan = new int[]{1, 10, 50, 400}[random.nextInt(4)];
+        int maxBurst = new int[]{4, 20, 60}[random.nextInt(3)];
+        ArrayList<Process> processes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            processes.add(new Process("P" + (i + 1), random.nextInt(arrivalSpan), 1 + random.nextInt(maxBurst),
+                                      random.nextInt(5)));
+        }
+        return processes;
+    }
+    
+    // Hundreds to a few thousand processes arriving over the whole run, at
+    // loads either side of one
+    static ArrayList<Process> randomLargeWorkload(Random random) {
+        int size = 500 + random.nextInt(2500);
+        int arrivalSpan = (int) (size * 10 * (0.7 + random.nextDouble() * 0.8));
+        ArrayList<Process> processes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            processes.add(new Process("P" + (i + 1), random.nextInt(arrivalSpan), 1 + random.nextInt(20),
+                                      random.nextInt(5)));
+        }
+        return processes;
+    }
+    
+    // Fresh Process objects, so no algorithm sees another one's changes
+    static ArrayList<Process> copy(ArrayList<Process> processes) {
+        return CompactWorkload.fromProcesses(processes).toProcesses();
+    }
+    
+    // Null if no core runs two processes at once, no process runs on two
+    // cores at once or before it arrives, every process runs for exactly its
+    // burst time, and the waiting and turnaround times agree with the lanes
+    static String checkMultiCore(MultiCoreResult result, ArrayList<Process> processes) {
+        Map<String, ArrayList<GanttChartEntry>> entriesByProcess = new HashMap<>();
+        for (int core = 0; core < result.getCoreCount(); core++) {
+            int laneEndTime = Integer.MIN_VALUE;
+            for (GanttChartEntry entry : result.getCoreGanttChart(core)) {
+                if (entry.getStartTime() < laneEndTime || entry.getEndTime() <= entry.getStartTime()) {
+                    return "core " + core + " has " + entry.getProcessId() + "(" + entry.getStartTime() + "-"
+                           + entry.getEndTime() + ") overlapping or empty";
+                }
+                laneEndTime = entry.getEndTime();
+                entriesByProcess.computeIfAbsent(entry.getProcessId(), id -> new ArrayList<>()).add(entry);
+            }
+        }
+        for (Process p : processes) {
+            ArrayList<GanttChartEntry> entries = entriesByProcess.getOrDefault(p.getId(), new ArrayList<>());
+            entries.sort(Comparator.comparingInt(GanttChartEntry::getStartTime));
+            int ranTime = 0;
+            int endTime = p.getArrivalTime();
+            for (GanttChartEntry entry : entries) {
+                if (entry.getStartTime() < endTime) {
+                    return p.getId() + " runs at " + entry.getStartTime() + ", before it arrived or while running";
+                }
+                ranTime += entry.getEndTime() - entry.getStartTime();
+                endTime = entry.getEndTime();
+            }
+            if (ranTime != p.getBurstTime()) {
+                return p.getId() + " ran for " + ranTime + " of its burst of " + p.getBurstTime();
+            }
+            Integer turnaroundTime = result.getTurnaroundTimes().get(p.getId());
+            Integer waitingTime = result.getWaitingTimes().get(p.getId());
+            if (turnaroundTime == null || turnaroundTime != endTime - p.getArrivalTime()
+                || waitingTime == null || waitingTime != turnaroundTime - p.getBurstTime()) {
+                return p.getId() + " has turnaround " + turnaroundTime + " and waiting " + waitingTime
+                       + ", but ran until " + endTime;
+            }
+        }
+        return null;
+    }
+    
+    // Copy with every id prefixed
+    static ArrayList<Process> renamed(ArrayList<Process> processes, String prefix) {
+        ArrayList<Process> renamed = new ArrayList<>(processes.size());
+        for (Process p : processes) {
+            renamed.add(new Process(prefix + p.getId(), p.getArrivalTime(), p.getBurstTime(), p.getPriority()));
+        }
+        return renamed;
+    }
+    
+    // Back-to-back entries of the same process joined into one, as
+    // fast-forward Round Robin records them
+    static SchedulingResult merged(SchedulingResult result) {
+        ArrayList<GanttChartEntry> entries = new ArrayList<>();
+        for (GanttChartEntry entry : result.getGanttChart()) {
+            GanttChartEntry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+            if (last != null && last.getProcessId().equals(entry.getProcessId())
+                && last.getEndTime() == entry.getStartTime()) {
+                entries.set(entries.size() - 1, new GanttChartEntry(last.getProcessId(), last.getStartTime(),
+                                                                    entry.getEndTime()));
+            } else {
+                entries.add(entry);
+            }
+        }
+        return new SchedulingResult(entries, result.getWaitingTimes(), result.getTurnaroundTimes(),
+                                    result.getMetrics());
+    }
+    
+    static String describe(SchedulingResult result) {
+        StringBuilder description = new StringBuilder(ganttOf(result));
+        description.append("waiting ").append(new TreeMap<>(result.getWaitingTimes()))
+                   .append(" turnaround ").append(new TreeMap<>(result.getTurnaroundTimes()))
+                   .append(" averages ").append(result.getAverageWaitingTime())
+                   .append('/').append(result.getAverageTurnaroundTime());
+        return description.toString();
+    }
+    
+    static String ganttOf(SchedulingResult result) {
+        return ganttOf(result.getGanttChart());
+    }
+    
+    static String ganttOf(List<GanttChartEntry> ganttChart) {
+        StringBuilder description = new StringBuilder();
+        for (GanttChartEntry entry : ganttChart) {
+            description.append(entry.getProcessId()).append('(').append(entry.getStartTime()).append('-')
+                       .append(entry.getEndTime()).append(") ");
+        }
+        return description.toString();
+    }
+    
+    // Also gives the entry count and last entry, which is all a chart that
+    // does not record entries keeps
+    static String describe(CompactSchedulingResult result) {
+        CompactGanttChart ganttChart = result.getGanttChart();
+        StringBuilder description = new StringBuilder();
+        description.append(ganttChart.size()).append(" entries, last ").append(ganttChart.getLastProcessIndex())
+                   .append(" to ").append(ganttChart.getLastEndTime()).append(": ");
+        if (ganttChart.isRecordingEntries()) {
+            for (int i = 0; i < ganttChart.size(); i++) {
+                description.append(ganttChart.getProcessIndex(i)).append('(').append(ganttChart.getStartTime(i))
+                           .append('-').append(ganttChart.getEndTime(i)).append(") ");
+            }
+        }
+        description.append("waiting/turnaround");
+        for (int i = 0; i < result.getWorkload().size(); i++) {
+            description.append(' ').append(result.getWaitingTime(i)).append('/').append(result.getTurnaroundTime(i));
+        }
+        description.append(" mean response ").append(result.getMetrics().getResponseTimes().getMean());
+        return description.toString();
+    }
+    
+    private static String describeWorkload(List<Process> processes) {
+        StringBuilder description = new StringBuilder(processes.size() + " processes: ");
+        for (Process process : processes.subList(0, Math.min(processes.size(), 50))) {
+            description.append(process.getId()).append(':').append(process.getArrivalTime()).append('/')
+                       .append(process.getBurstTime()).append('/').append(process.getPriority()).append(' ');
+        }
+        if (processes.size() > 50) {
+            description.append("...");
+        }
+        return description.toString().trim();
+    }
+}
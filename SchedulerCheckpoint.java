@@ -0,0 +1,289 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Snapshot of a compact scheduling run in progress, taken at the top of the
+// scheduling loop, from which the run can carry on and give exactly the
+// result it would have given uninterrupted. The algorithm's own loop
+// variables go in the state array, the current time first and then the
+// arrival cursor and so on, and its ready queue in the queue array, in
+// whatever layout the algorithm reads back.
+//
+// File layout (big-endian, as written by DataOutputStream):
+//
+//   header     magic, version, algorithm configuration, workload
+//              fingerprint and process count
+//   state      length-prefixed long arrays: state, ready queue
+//   processes  remaining, waiting and turnaround time of every process
+//   metrics    the three latency histograms, non-empty buckets only
+//   gantt      whether entries are recorded, entry count, and the process
+//              and end time of the last entry
+//
+// Recorded Gantt entries go in a second file, the path with ".gantt"
+// appended, as fixed-size records (process index, start, end) in entry
+// order. A run's entries never change once added, except that the last one
+// can be extended, so each checkpoint only writes the entries added since
+// the last one and the one before them, and the end of the last entry is
+// taken from the checkpoint. Entries past the count are left over from a
+// later checkpoint that never finished, and are ignored.
+class SchedulerCheckpoint {
+    static final int MAGIC = 0x53434B50; // "SCKP"
+    static final int VERSION = 3;
+    private static final int GANTT_RECORD_BYTES = 20;
+    
+    private final String configuration;
+    private final long workloadFingerprint;
+    private final int processCount;
+    private final long[] state;
+    private final long[] readyQueue;
+    private final int[] remainingTimes;
+    private final long[] waitingTimes;
+    private final long[] turnaroundTimes;
+    private final LatencyMetrics metrics;
+    private final CompactGanttChart ganttChart;
+    // Index in the run's chart of ganttChart's first entry
+    private final int ganttChartOffset;
+    
+    // Takes the arrays as they are, so callers pass copies of anything they
+    // go on changing
+    public SchedulerCheckpoint(String configuration, long workloadFingerprint, int processCount,
+                               long[] state, long[] readyQueue, int[] remainingTimes,
+                               long[] waitingTimes, long[] turnaroundTimes,
+                               LatencyMetrics metrics, CompactGanttChart ganttChart) {
+        this(configuration, workloadFingerprint, processCount, state, readyQueue, remainingTimes,
+             waitingTimes, turnaroundTimes, metrics, ganttChart, 0);
+    }
+    
+    // With only the Gantt entries from ganttChartOffset on, the earlier ones
+    // being in the Gantt file already. Such a checkpoint can be written, but
+    // only resumed from once read back.
+    SchedulerCheckpoint(String configuration, long workloadFingerprint, int processCount,
+                        long[] state, long[] readyQueue, int[] remainingTimes,
+                        long[] waitingTimes, long[] turnaroundTimes,
+                        LatencyMetrics metrics, CompactGanttChart ganttChart, int ganttChartOffset) {
+        this.configuration = configuration;
+        this.workloadFingerprint = workloadFingerprint;
+        this.processCount = processCount;
+        this.state = state;
+        this.readyQueue = readyQueue;
+        this.remainingTimes = remainingTimes;
+        this.waitingTimes = waitingTimes;
+        this.turnaroundTimes = turnaroundTimes;
+        this.metrics = metrics;
+        this.ganttChart = ganttChart;
+        this.ganttChartOffset = ganttChartOffset;
+    }
+    
+    // Throws IllegalArgumentException unless this checkpoint was taken by an
+    // algorithm with the same configuration on the same workload. The file
+    // only keeps the workload's fingerprint, not a copy of it, so two
+    // workloads are told apart unless their 64-bit hashes collide; ids are
+    // hashed a character at a time, so ids whose String.hashCode is the
+    // same don't make them collide.
+    public void checkMatches(SchedulingAlgorithm algorithm, CompactWorkload workload) {
+        if (!configuration.equals(algorithm.getConfiguration())) {
+            throw new IllegalArgumentException("Checkpoint was taken by " + configuration + ", not "
+                                               + algorithm.getConfiguration());
+        }
+        if (processCount != workload.size() || workloadFingerprint != ResultCache.fingerprint(workload)) {
+            throw new IllegalArgumentException("Checkpoint was taken on a different workload");
+        }
+    }
+    
+    public String getConfiguration() {
+        return configuration;
+    }
+    
+    public long getWorkloadFingerprint() {
+        return workloadFingerprint;
+    }
+    
+    public int getProcessCount() {
+        return processCount;
+    }
+    
+    // Simulated time the checkpoint was taken at
+    public long getTime() {
+        return state[0];
+    }
+    
+    public long[] getState() {
+        return state;
+    }
+    
+    public long[] getReadyQueue() {
+        return readyQueue;
+    }
+    
+    public int[] getRemainingTimes() {
+        return remainingTimes;
+    }
+    
+    public long[] getWaitingTimes() {
+        return waitingTimes;
+    }
+    
+    public long[] getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+    
+    public LatencyMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public CompactGanttChart getGanttChart() {
+        if (ganttChartOffset > 0) {
+            throw new IllegalStateException("Checkpoint only holds the Gantt entries since the last one");
+        }
+        return ganttChart;
+    }
+    
+    // Entries in the run's Gantt chart when the checkpoint was taken
+    public int getGanttEntryCount() {
+        return ganttChartOffset + ganttChart.size();
+    }
+    
+    // Writes the Gantt entries, then the rest to a temporary file next to
+    // the path, forces it to disk and moves it over the path, so a crash
+    // part way through leaves the previous checkpoint in place
+    public void write(Path path) throws IOException {
+        if (ganttChart.isRecordingEntries()) {
+            writeGanttEntries(ganttPath(path));
+        }
+        Path temporary = temporaryPath(path);
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(configuration);
+            out.writeLong(workloadFingerprint);
+            out.writeInt(processCount);
+            writeLongs(out, state);
+            writeLongs(out, readyQueue);
+            for (int i = 0; i < processCount; i++) {
+                out.writeInt(remainingTimes[i]);
+                out.writeLong(waitingTimes[i]);
+                out.writeLong(turnaroundTimes[i]);
+            }
+            metrics.writeTo(out);
+            out.writeBoolean(ganttChart.isRecordingEntries());
+            out.writeInt(getGanttEntryCount());
+            out.writeInt(ganttChart.getLastProcessIndex());
+            out.writeLong(ganttChart.getLastEndTime());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    public static SchedulerCheckpoint read(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a scheduler checkpoint: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            String configuration = in.readUTF();
+            long fingerprint = in.readLong();
+            int processCount = in.readInt();
+            long[] state = readLongs(in);
+            long[] readyQueue = readLongs(in);
+            int[] remainingTimes = new int[processCount];
+            long[] waitingTimes = new long[processCount];
+            long[] turnaroundTimes = new long[processCount];
+            for (int i = 0; i < processCount; i++) {
+                remainingTimes[i] = in.readInt();
+                waitingTimes[i] = in.readLong();
+                turnaroundTimes[i] = in.readLong();
+            }
+            LatencyMetrics metrics = LatencyMetrics.readFrom(in);
+            boolean recordEntries = in.readBoolean();
+            int entries = in.readInt();
+            int lastProcessIndex = in.readInt();
+            long lastEndTime = in.readLong();
+            CompactGanttChart ganttChart = recordEntries ? readGanttEntries(ganttPath(path), entries, lastEndTime)
+                                                         : new CompactGanttChart(false);
+            if (!recordEntries) {
+                ganttChart.addUnrecorded(entries, lastProcessIndex, lastEndTime);
+            }
+            return new SchedulerCheckpoint(configuration, fingerprint, processCount, state, readyQueue,
+                                           remainingTimes, waitingTimes, turnaroundTimes, metrics, ganttChart);
+        }
+    }
+    
+    // Deletes the checkpoint, its Gantt entries and any write left
+    // unfinished by a crash
+    public static void delete(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(temporaryPath(path));
+        Files.deleteIfExists(ganttPath(path));
+    }
+    
+    private static Path temporaryPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+    
+    private static Path ganttPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".gantt");
+    }
+    
+    // Writes this checkpoint's entries over their records, leaving the
+    // records before them alone
+    private void writeGanttEntries(Path ganttPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(ganttPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.position((long) ganttChartOffset * GANTT_RECORD_BYTES);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            for (int i = 0; i < ganttChart.size(); i++) {
+                out.writeInt(ganttChart.getProcessIndex(i));
+                out.writeLong(ganttChart.getStartTime(i));
+                out.writeLong(ganttChart.getEndTime(i));
+            }
+            out.flush();
+            channel.force(false);
+        }
+    }
+    
+    private static CompactGanttChart readGanttEntries(Path ganttPath, int entries, long lastEndTime)
+            throws IOException {
+        CompactGanttChart ganttChart = new CompactGanttChart();
+        try (InputStream file = Files.newInputStream(ganttPath)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16));
+            for (int i = 0; i < entries; i++) {
+                int processIndex = in.readInt();
+                long startTime = in.readLong();
+                long endTime = in.readLong();
+                // The record may since have been extended by a later checkpoint
+                ganttChart.add(processIndex, startTime, i == entries - 1 ? lastEndTime : endTime);
+            }
+        }
+        return ganttChart;
+    }
+    
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+    
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,289 @@
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+// Counters for what a scheduler did during one run: selections, context
+// switches, preemptions, ready-queue comparisons, idle time, the ready
+// queue's length over time, and the run's wall time and allocation.
+// Algorithms report each slice they run and each completion; switches,
+// preemptions and idle time are worked out from those, per core for
+// multi-core runs. Every finished run
+// is committed as a SchedulingRunEvent for JDK Flight Recorder and added to
+// per-algorithm totals.
+//
+// Off unless the JVM runs with -Dscheduler.stats=true. ENABLED is a static
+// final, so with it off start() returns a shared instance whose methods do
+// nothing and the JIT drops the calls, and the heaps skip counting.
+class SchedulerStats {
+    public static final boolean ENABLED = Boolean.getBoolean("scheduler.stats");
+    
+    // A ReadyQueueSampleEvent is committed every SAMPLE_INTERVAL selections
+    static final int SAMPLE_INTERVAL = 1024;
+    
+    private static final SchedulerStats NONE = new SchedulerStats("none") {
+        @Override
+        public void ran(int core, int process, long startTime, long endTime, int readyQueueLength) {
+        }
+        
+        @Override
+        public void completed(int core) {
+        }
+        
+        @Override
+        public void addComparisons(long count) {
+        }
+        
+        @Override
+        public void finish() {
+        }
+    };
+    
+    private static final ThreadLocal<SchedulerStats> LAST_RUN = new ThreadLocal<>();
+    private static final Map<String, SchedulerStats> TOTALS = new TreeMap<>();
+    
+    private final String algorithm;
+    private long runs;
+    private long processes;
+    private long selections;
+    private long contextSwitches;
+    private long preemptions;
+    private long comparisons;
+    private long idleTime;
+    private long busyTime;
+    private long queueLengthTime;
+    private int maxQueueLength;
+    private long simulatedTime;
+    private long wallTimeNanos;
+    private long allocatedBytes;
+    
+    // State of the run in progress, by core
+    private int[] lastProcesses;
+    private boolean[] lastCompleted;
+    private long[] lastEndTimes;
+    private long startNanos;
+    private long startAllocatedBytes;
+    private SchedulingRunEvent event;
+    
+    private SchedulerStats(String algorithm) {
+        this.algorithm = algorithm;
+    }
+    
+    // Stats for a run that is starting on this thread, named by the
+    // algorithm's configuration
+    public static SchedulerStats start(SchedulingAlgorithm algorithm, int processCount) {
+        return start(algorithm, processCount, 1);
+    }
+    
+    // Same for a run over several cores
+    public static SchedulerStats start(SchedulingAlgorithm algorithm, int processCount, int cores) {
+        if (!ENABLED) {
+            return NONE;
+        }
+        SchedulerStats stats = new SchedulerStats(algorithm.getConfiguration());
+        stats.runs = 1;
+        stats.processes = processCount;
+        stats.lastProcesses = new int[cores];
+        stats.lastCompleted = new boolean[cores];
+        stats.lastEndTimes = new long[cores];
+        Arrays.fill(stats.lastProcesses, -1);
+        Arrays.fill(stats.lastCompleted, true);
+        Arrays.fill(stats.lastEndTimes, -1);
+        stats.event = new SchedulingRunEvent();
+        stats.event.begin();
+        stats.startAllocatedBytes = allocatedBytes();
+        stats.startNanos = System.nanoTime();
+        return stats;
+    }
+    
+    // The last run finished on this thread, or null
+    public static SchedulerStats lastRun() {
+        return LAST_RUN.get();
+    }
+    
+    // Totals of every finished run so far, by algorithm
+    public static Map<String, SchedulerStats> totals() {
+        synchronized (TOTALS) {
+            Map<String, SchedulerStats> copy = new TreeMap<>();
+            for (SchedulerStats stats : TOTALS.values()) {
+                SchedulerStats total = new SchedulerStats(stats.algorithm);
+                total.add(stats);
+                copy.put(stats.algorithm, total);
+            }
+            return copy;
+        }
+    }
+    
+    // Called for every slice of CPU time, with the number of processes
+    // waiting in the ready queue while it runs
+    public void ran(int process, long startTime, long endTime, int readyQueueLength) {
+        ran(0, process, startTime, endTime, readyQueueLength);
+    }
+    
+    // Same for a slice on one of several cores, with the number of processes
+    // waiting in any queue
+    public void ran(int core, int process, long startTime, long endTime, int readyQueueLength) {
+        selections++;
+        if (process != lastProcesses[core]) {
+            contextSwitches++;
+            if (!lastCompleted[core]) {
+                preemptions++;
+            }
+        }
+        if (lastEndTimes[core] >= 0 && startTime > lastEndTimes[core]) {
+            idleTime += startTime - lastEndTimes[core];
+        }
+        long length = endTime - startTime;
+        busyTime += length;
+        queueLengthTime += readyQueueLength * length;
+        maxQueueLength = Math.max(maxQueueLength, readyQueueLength);
+        lastProcesses[core] = process;
+        lastCompleted[core] = false;
+        lastEndTimes[core] = endTime;
+        
+        if (selections % SAMPLE_INTERVAL == 0) {
+            ReadyQueueSampleEvent sample = new ReadyQueueSampleEvent();
+            if (sample.shouldCommit()) {
+                sample.algorithm = algorithm;
+                sample.simulatedTime = startTime;
+                sample.length = readyQueueLength;
+                sample.commit();
+            }
+        }
+    }
+    
+    // Called when the process of the last slice has completed
+    public void completed() {
+        completed(0);
+    }
+    
+    public void completed(int core) {
+        lastCompleted[core] = true;
+    }
+    
+    public void addComparisons(long count) {
+        comparisons += count;
+    }
+    
+    public void finish() {
+        wallTimeNanos = System.nanoTime() - startNanos;
+        long allocatedAfter = allocatedBytes();
+        allocatedBytes = startAllocatedBytes >= 0 && allocatedAfter >= 0 ? allocatedAfter - startAllocatedBytes : 0;
+        for (long lastEndTime : lastEndTimes) {
+            simulatedTime = Math.max(simulatedTime, lastEndTime);
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.processes = (int) processes;
+            event.selections = selections;
+            event.contextSwitches = contextSwitches;
+            event.preemptions = preemptions;
+            event.comparisons = comparisons;
+            event.idleTime = idleTime;
+            event.simulatedTime = simulatedTime;
+            event.averageReadyQueueLength = getAverageReadyQueueLength();
+            event.maxReadyQueueLength = maxQueueLength;
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
+        event = null;
+        
+        LAST_RUN.set(this);
+        synchronized (TOTALS) {
+            TOTALS.computeIfAbsent(algorithm, SchedulerStats::new).add(this);
+        }
+    }
+    
+    public String getAlgorithm() {
+        return algorithm;
+    }
+    
+    public long getRuns() {
+        return runs;
+    }
+    
+    public long getProcesses() {
+        return processes;
+    }
+    
+    // Slices of CPU time handed out
+    public long getSelections() {
+        return selections;
+    }
+    
+    // Slices that ran a different process from the slice before
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+    
+    // Context switches away from a process that had not completed
+    public long getPreemptions() {
+        return preemptions;
+    }
+    
+    // Key comparisons made by the ready queue
+    public long getComparisons() {
+        return comparisons;
+    }
+    
+    public long getIdleTime() {
+        return idleTime;
+    }
+    
+    // Time-weighted over the time the CPU was busy
+    public double getAverageReadyQueueLength() {
+        return busyTime > 0 ? (double) queueLengthTime / busyTime : 0;
+    }
+    
+    public int getMaxReadyQueueLength() {
+        return maxQueueLength;
+    }
+    
+    // End of the last slice
+    public long getSimulatedTime() {
+        return simulatedTime;
+    }
+    
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+    
+    // 0 if the JVM cannot measure per-thread allocation
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+    
+    // Multi-line summary for printing
+    public String summary() {
+        return algorithm + (runs > 1 ? " (" + runs + " runs)" : "") + ": "
+               + selections + " selections, " + contextSwitches + " context switches, "
+               + preemptions + " preemptions, " + comparisons + " queue comparisons\n"
+               + "Idle time: " + idleTime + ", ready queue: avg "
+               + String.format("%.2f", getAverageReadyQueueLength()) + ", max " + maxQueueLength + "\n"
+               + "Wall time: " + wallTimeNanos / 1_000_000 + " ms, allocated: " + allocatedBytes / 1024 + " KB";
+    }
+    
+    private void add(SchedulerStats other) {
+        runs += other.runs;
+        processes += other.processes;
+        selections += other.selections;
+        contextSwitches += other.contextSwitches;
+        preemptions += other.preemptions;
+        comparisons += other.comparisons;
+        idleTime += other.idleTime;
+        busyTime += other.busyTime;
+        queueLengthTime += other.queueLengthTime;
+        maxQueueLength = Math.max(maxQueueLength, other.maxQueueLength);
+        simulatedTime += other.simulatedTime;
+        wallTimeNanos += other.wallTimeNanos;
+        allocatedBytes += other.allocatedBytes;
+    }
+    
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,12 @@
+import java.util.*;
+
+// Interface for scheduling algorithms
+interface SchedulingAlgorithm {
+    SchedulingResult schedule(ArrayList<Process> processes);
+    
+    // Algorithm name and every parameter that affects the schedule; two
+    // algorithms with the same configuration give the same result
+    default String getConfiguration() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+// Progress and cancellation for a scheduling run on a background thread.
+// Algorithms call checkpoint() from their main loops; every CHECK_INTERVAL
+// calls it publishes how far the run has got and throws
+// CancellationException if the thread has been interrupted. Runs outside
+// run() get a monitor that does nothing.
+class SchedulingMonitor {
+    private static final int CHECK_INTERVAL = 1024;
+    
+    private static final ThreadLocal<SchedulingMonitor> CURRENT = new ThreadLocal<>();
+    
+    private static final SchedulingMonitor NONE = new SchedulingMonitor() {
+        @Override
+        public void checkpoint(long currentTime, int completedProcesses) {
+        }
+    };
+    
+    // Read from other threads, e.g. a Swing timer updating a progress label
+    private volatile long simulatedTime;
+    private volatile int completedProcesses;
+    
+    // Only touched by the scheduling thread
+    private int untilNextCheck;
+    
+    // Monitor for the run on the calling thread
+    public static SchedulingMonitor current() {
+        SchedulingMonitor monitor = CURRENT.get();
+        return monitor != null ? monitor : NONE;
+    }
+    
+    // Runs the task on the calling thread with this monitor installed
+    public <T> T run(Supplier<T> task) {
+        SchedulingMonitor previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    public void checkpoint(long currentTime, int completedProcesses) {
+        if (--untilNextCheck > 0) {
+            return;
+        }
+        untilNextCheck = CHECK_INTERVAL;
+        this.simulatedTime = currentTime;
+        this.completedProcesses = completedProcesses;
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Scheduling cancelled");
+        }
+    }
+    
+    public long getSimulatedTime() {
+        return simulatedTime;
+    }
+    
+    public int getCompletedProcesses() {
+        return completedProcesses;
+    }
+}
@@ -0,0 +1,48 @@
+import java.util.*;
+
+// SchedulingResult class
+// The per-process maps are optional and may be left out for large runs;
+// the averages and percentiles always come from the metrics.
+class SchedulingResult {
+    private ArrayList<GanttChartEntry> ganttChart;
+    private Map<String, Integer> waitingTimes;
+    private Map<String, Integer> turnaroundTimes;
+    private LatencyMetrics metrics;
+    
+    public SchedulingResult(ArrayList<GanttChartEntry> ganttChart, Map<String, Integer> waitingTimes, 
+                          Map<String, Integer> turnaroundTimes, LatencyMetrics metrics) {
+        this.ganttChart = ganttChart;
+        this.waitingTimes = waitingTimes;
+        this.turnaroundTimes = turnaroundTimes;
+        this.metrics = metrics;
+    }
+    
+    public ArrayList<GanttChartEntry> getGanttChart() {
+        return ganttChart;
+    }
+    
+    public boolean hasProcessTimes() {
+        return waitingTimes != null;
+    }
+    
+    // Empty when the result was built without per-process maps
+    public Map<String, Integer> getWaitingTimes() {
+        return waitingTimes != null ? waitingTimes : Collections.emptyMap();
+    }
+    
+    public Map<String, Integer> getTurnaroundTimes() {
+        return turnaroundTimes != null ? turnaroundTimes : Collections.emptyMap();
+    }
+    
+    public LatencyMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public double getAverageWaitingTime() {
+        return metrics.getWaitingTimes().getMean();
+    }
+    
+    public double getAverageTurnaroundTime() {
+        return metrics.getTurnaroundTimes().getMean();
+    }
+}
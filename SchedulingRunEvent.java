@@ -0,0 +1,48 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// JFR event committed at the end of every instrumented scheduling run
+@Name("scheduler.SchedulingRun")
+@Label("Scheduling Run")
+@Category("CPU Scheduling")
+@Description("One run of a scheduling algorithm over a workload")
+class SchedulingRunEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+    
+    @Label("Processes")
+    int processes;
+    
+    @Label("Selections")
+    long selections;
+    
+    @Label("Context Switches")
+    long contextSwitches;
+    
+    @Label("Preemptions")
+    long preemptions;
+    
+    @Label("Queue Comparisons")
+    long comparisons;
+    
+    @Label("Idle Time")
+    @Description("Simulated time units the CPU was idle")
+    long idleTime;
+    
+    @Label("Simulated Time")
+    long simulatedTime;
+    
+    @Label("Average Ready Queue Length")
+    double averageReadyQueueLength;
+    
+    @Label("Max Ready Queue Length")
+    int maxReadyQueueLength;
+    
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,9 @@
+// Receives Gantt segments and process completions from a streaming scheduler
+interface SchedulingSink {
+    void ganttEntry(GanttChartEntry entry);
+    
+    void processCompleted(Process process, int waitingTime, int turnaroundTime);
+    
+    default void finished() {
+    }
+}
@@ -0,0 +1,29 @@
+// Ordered by (remaining time, position in arrival order)
+class ShortestFirstReadyQueue implements ReadyQueuePolicy.ReadyQueue {
+    private final LongMinHeap heap = new LongMinHeap(16);
+    
+    @Override
+    public void add(int position, int remainingTime) {
+        heap.add(((long) remainingTime << 32) | position);
+    }
+    
+    @Override
+    public int poll() {
+        return (int) heap.poll();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+    
+    @Override
+    public int size() {
+        return heap.size();
+    }
+    
+    @Override
+    public long getComparisons() {
+        return heap.getComparisons();
+    }
+}
@@ -0,0 +1,13 @@
+import java.util.*;
+import java.util.concurrent.Flow;
+
+// Interface for scheduling algorithms that consume arrivals one at a time and
+// push their output to a sink as soon as it is final. Arrivals must be sorted
+// by arrival time; memory is bounded by the ready queue, not the trace length.
+interface StreamingSchedulingAlgorithm {
+    void schedule(Iterator<Process> arrivals, SchedulingSink sink);
+    
+    default void schedule(Flow.Publisher<Process> arrivals, SchedulingSink sink) {
+        schedule(new PublisherIterator<>(arrivals, PublisherIterator.DEFAULT_BATCH_SIZE), sink);
+    }
+}
@@ -0,0 +1,213 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Reads id,arrival,burst[,priority] workload files through a memory-mapped
+// FileChannel. Lines are parsed straight from the mapped bytes; only the id
+// becomes a String. Fields may be separated by commas, semicolons, tabs or
+// spaces, and a header line, blank lines and '#' comments are skipped. The
+// priority column is optional and defaults to 0. A burst of the form
+// 4/10/3 gives CPU and I/O bursts in turn: 4 on the CPU, 10 doing I/O, then
+// 3 more on the CPU.
+class WorkloadFileReader {
+    // A mapping cannot exceed 2 GB, so larger files are mapped window by window
+    private static final long MAP_WINDOW = 1L << 30;
+    
+    private final CompactWorkload workload;
+    private final byte[] idBytes = new byte[256];
+    private int[] burstBuffer = new int[16];
+    private long lineNumber;
+    private boolean seenData;
+    
+    private WorkloadFileReader(CompactWorkload workload) {
+        this.workload = workload;
+    }
+    
+    public static CompactWorkload read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            WorkloadFileReader reader = new WorkloadFileReader(
+                new CompactWorkload((int) Math.min(fileSize / 8 + 16, 1 << 20)));
+            
+            long position = 0;
+            while (position < fileSize) {
+                long length = Math.min(MAP_WINDOW, fileSize - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == fileSize;
+                int consumed = reader.parseLines(buffer, lastWindow);
+                if (consumed == 0 && !lastWindow) {
+                    throw new IOException("Line " + (reader.lineNumber + 1) + " is too long");
+                }
+                position += consumed;
+            }
+            return reader.workload;
+        }
+    }
+    
+    // Parses workload text already in memory, e.g. pasted from the clipboard
+    public static CompactWorkload parse(ByteBuffer buffer) throws IOException {
+        WorkloadFileReader reader = new WorkloadFileReader(new CompactWorkload(buffer.remaining() / 8 + 16));
+        reader.parseLines(buffer, true);
+        return reader.workload;
+    }
+    
+    // Parses every complete line in the buffer and returns the number of bytes
+    // consumed; an unterminated last line is left for the next window
+    private int parseLines(ByteBuffer buffer, boolean lastWindow) throws IOException {
+        int limit = buffer.limit();
+        int lineStart = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                parseLine(buffer, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (lastWindow && lineStart < limit) {
+            parseLine(buffer, lineStart, limit);
+            lineStart = limit;
+        }
+        return lineStart;
+    }
+    
+    private void parseLine(ByteBuffer buffer, int start, int end) throws IOException {
+        lineNumber++;
+        int i = skipSeparators(buffer, start, end);
+        if (i == end || buffer.get(i) == '#') {
+            return;
+        }
+        
+        // Process id
+        int idStart = i;
+        while (i < end && !isSeparator(buffer.get(i))) {
+            i++;
+        }
+        int idLength = i - idStart;
+        
+        i = skipSeparators(buffer, i, end);
+        int arrivalStart = i;
+        if (i == end || !isDigit(buffer.get(i))) {
+            if (!seenData) {
+                // Header line
+                seenData = true;
+                return;
+            }
+            throw error("expected id,arrival,burst");
+        }
+        seenData = true;
+        
+        long arrivalTime = 0;
+        while (i < end && isDigit(buffer.get(i))) {
+            arrivalTime = arrivalTime * 10 + (buffer.get(i++) - '0');
+            if (arrivalTime > Integer.MAX_VALUE) {
+                throw error("arrival time is too large");
+            }
+        }
+        if (i == arrivalStart || (i < end && !isSeparator(buffer.get(i)))) {
+            throw error("arrival time must be a non-negative integer");
+        }
+        
+        // Burst time, or CPU and I/O bursts in turn separated by '/'
+        i = skipSeparators(buffer, i, end);
+        int burstCount = 0;
+        long burstTime = 0;
+        while (true) {
+            int burstStart = i;
+            long burst = 0;
+            while (i < end && isDigit(buffer.get(i))) {
+                burst = burst * 10 + (buffer.get(i++) - '0');
+                if (burst > Integer.MAX_VALUE) {
+                    throw error("burst time is too large");
+                }
+            }
+            if (i == burstStart) {
+                throw error("burst time must be a positive integer");
+            }
+            if (burstCount % 2 == 0) {
+                if (burst == 0) {
+                    throw error("burst time must be positive");
+                }
+                burstTime += burst;
+                if (burstTime > Integer.MAX_VALUE) {
+                    throw error("burst time is too large");
+                }
+            }
+            if (burstCount == burstBuffer.length) {
+                burstBuffer = Arrays.copyOf(burstBuffer, burstCount * 2);
+            }
+            burstBuffer[burstCount++] = (int) burst;
+            if (i < end && buffer.get(i) == '/') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        if (i < end && !isSeparator(buffer.get(i))) {
+            throw error("burst time must be a positive integer");
+        }
+        if (burstCount % 2 == 0) {
+            throw error("bursts must end with a CPU burst");
+        }
+        
+        // Optional priority, which may be negative
+        i = skipSeparators(buffer, i, end);
+        long priority = 0;
+        if (i < end) {
+            boolean negative = buffer.get(i) == '-';
+            if (negative) {
+                i++;
+            }
+            int priorityStart = i;
+            while (i < end && isDigit(buffer.get(i))) {
+                priority = priority * 10 + (buffer.get(i++) - '0');
+                if (priority > Integer.MAX_VALUE) {
+                    throw error("priority is too large");
+                }
+            }
+            if (i == priorityStart || skipSeparators(buffer, i, end) != end) {
+                throw error("priority must be an integer");
+            }
+            if (negative) {
+                priority = -priority;
+            }
+        }
+        
+        String id = readId(buffer, idStart, idLength);
+        if (burstCount == 1) {
+            workload.add(id, (int) arrivalTime, (int) burstTime, (int) priority);
+        } else {
+            workload.add(id, (int) arrivalTime, Arrays.copyOf(burstBuffer, burstCount), (int) priority);
+        }
+    }
+    
+    private String readId(ByteBuffer buffer, int start, int length) {
+        byte[] bytes = length <= idBytes.length ? idBytes : new byte[length];
+        for (int j = 0; j < length; j++) {
+            bytes[j] = buffer.get(start + j);
+        }
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+    
+    private IOException error(String message) {
+        return new IOException("Line " + lineNumber + ": " + message);
+    }
+    
+    private static int skipSeparators(ByteBuffer buffer, int i, int end) {
+        while (i < end && isSeparator(buffer.get(i))) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == ';' || b == ' ' || b == '\t' || b == '\r';
+    }
+    
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
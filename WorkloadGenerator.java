@@ -0,0 +1,165 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+// Seeded synthetic workload generator. Processes come out one at a time in
+// arrival order, so millions of them can be streamed into a
+// StreamingSchedulingAlgorithm or a file without building a list first.
+// The same spec and seed always give the same workload.
+class WorkloadGenerator implements Iterator<Process> {
+    enum ArrivalPattern { POISSON, BURSTY }
+    
+    enum BurstDistribution { UNIFORM, EXPONENTIAL, PARETO, BIMODAL }
+    
+    private final WorkloadSpec spec;
+    private final SplittableRandom random;
+    private final long count;
+    private long generated;
+    private double currentTime;
+    
+    // Bursty arrivals alternate between ON periods with a high arrival rate
+    // and silent OFF periods
+    private boolean on = true;
+    private double stateEndTime;
+    
+    public WorkloadGenerator(WorkloadSpec spec, long seed, long count) {
+        this(spec, new SplittableRandom(seed), count);
+    }
+    
+    public WorkloadGenerator(WorkloadSpec spec, SplittableRandom random, long count) {
+        this.spec = spec;
+        this.random = random;
+        this.count = count;
+        if (spec.getArrivalPattern() == ArrivalPattern.BURSTY) {
+            stateEndTime = exponential(spec.getBurstPeriod());
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return generated < count;
+    }
+    
+    @Override
+    public Process next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        generated++;
+        currentTime = nextArrivalTime();
+        int arrivalTime = (int) Math.min(currentTime, Integer.MAX_VALUE);
+        int cpuBursts = spec.getCpuBurstsPerProcess();
+        if (cpuBursts == 1) {
+            return new Process("P" + generated, arrivalTime, nextBurstTime());
+        }
+        
+        // CPU bursts from the burst distribution with I/O in between, each
+        // CPU burst capped so the total still leaves headroom
+        int[] bursts = new int[2 * cpuBursts - 1];
+        for (int k = 0; k < bursts.length; k++) {
+            if (k % 2 == 0) {
+                bursts[k] = Math.min(nextBurstTime(), Integer.MAX_VALUE / 4 / cpuBursts);
+            } else {
+                bursts[k] = (int) Math.min(Math.round(exponential(spec.getMeanIoTime())), Integer.MAX_VALUE / 4);
+            }
+        }
+        return new Process("P" + generated, arrivalTime, bursts, 0);
+    }
+    
+    // Generates the remaining processes into a CompactWorkload
+    public CompactWorkload toCompactWorkload() {
+        CompactWorkload workload = new CompactWorkload((int) Math.min(count - generated, 1 << 20));
+        while (hasNext()) {
+            Process process = next();
+            if (process.hasIoBursts()) {
+                workload.add(process.getId(), process.getArrivalTime(), process.getBursts(), 0);
+            } else {
+                workload.add(process.getId(), process.getArrivalTime(), process.getBurstTime());
+            }
+        }
+        return workload;
+    }
+    
+    // Generates the remaining processes into the list format the batch mode reads
+    public void writeTo(Path path) throws IOException {
+        try (ResultFileWriter writer = new ResultFileWriter(path)) {
+            writer.writeText("id,arrival,burst\n");
+            while (hasNext()) {
+                Process process = next();
+                writer.writeText(process.getId());
+                writer.writeByte(',');
+                writer.writeNumber(process.getArrivalTime());
+                writer.writeByte(',');
+                if (process.hasIoBursts()) {
+                    int[] bursts = process.getBursts();
+                    for (int k = 0; k < bursts.length; k++) {
+                        if (k > 0) {
+                            writer.writeByte('/');
+                        }
+                        writer.writeNumber(bursts[k]);
+                    }
+                } else {
+                    writer.writeNumber(process.getBurstTime());
+                }
+                writer.writeByte('\n');
+            }
+        }
+    }
+    
+    private double nextArrivalTime() {
+        if (spec.getArrivalPattern() == ArrivalPattern.POISSON) {
+            return currentTime + exponential(spec.getMeanInterArrivalTime());
+        }
+        
+        // ON periods take 1/burstFactor of the time and arrive burstFactor
+        // times faster, so the long-run rate matches the Poisson pattern
+        double factor = spec.getBurstFactor();
+        double time = currentTime;
+        while (true) {
+            if (on) {
+                double arrival = time + exponential(spec.getMeanInterArrivalTime() / factor);
+                if (arrival < stateEndTime) {
+                    return arrival;
+                }
+                time = stateEndTime;
+                on = false;
+                stateEndTime = time + exponential(spec.getBurstPeriod() * (factor - 1));
+            } else {
+                time = stateEndTime;
+                on = true;
+                stateEndTime = time + exponential(spec.getBurstPeriod());
+            }
+        }
+    }
+    
+    private int nextBurstTime() {
+        double burstTime;
+        switch (spec.getBurstDistribution()) {
+            case UNIFORM:
+                burstTime = 1 + random.nextDouble() * (2 * spec.getMeanBurstTime() - 1);
+                break;
+            case EXPONENTIAL:
+                burstTime = exponential(spec.getMeanBurstTime());
+                break;
+            case PARETO:
+                // Scale chosen so the mean is meanBurstTime (needs shape > 1)
+                double shape = spec.getParetoShape();
+                double scale = spec.getMeanBurstTime() * (shape - 1) / shape;
+                burstTime = scale / Math.pow(1 - random.nextDouble(), 1 / shape);
+                break;
+            case BIMODAL:
+                burstTime = random.nextDouble() < spec.getLongJobFraction()
+                    ? exponential(spec.getLongBurstTime())
+                    : exponential(spec.getShortBurstTime());
+                break;
+            default:
+                throw new IllegalStateException("Unknown burst distribution: " + spec.getBurstDistribution());
+        }
+        // Keep bursts positive and leave headroom so completion times fit in an int
+        return (int) Math.max(1, Math.min(Math.round(burstTime), Integer.MAX_VALUE / 4));
+    }
+    
+    private double exponential(double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+}
@@ -0,0 +1,155 @@
+// Parameters for WorkloadGenerator. Times are in simulation time units.
+class WorkloadSpec {
+    private WorkloadGenerator.ArrivalPattern arrivalPattern = WorkloadGenerator.ArrivalPattern.POISSON;
+    private double meanInterArrivalTime = 10;
+    private double burstFactor = 4;
+    private double burstPeriod = 100;
+    private WorkloadGenerator.BurstDistribution burstDistribution = WorkloadGenerator.BurstDistribution.EXPONENTIAL;
+    private double meanBurstTime = 8;
+    private double paretoShape = 1.5;
+    private double shortBurstTime = 4;
+    private double longBurstTime = 100;
+    private double longJobFraction = 0.05;
+    private int cpuBurstsPerProcess = 1;
+    private double meanIoTime = 20;
+    
+    public WorkloadGenerator.ArrivalPattern getArrivalPattern() {
+        return arrivalPattern;
+    }
+    
+    public WorkloadSpec setArrivalPattern(WorkloadGenerator.ArrivalPattern arrivalPattern) {
+        this.arrivalPattern = arrivalPattern;
+        return this;
+    }
+    
+    public double getMeanInterArrivalTime() {
+        return meanInterArrivalTime;
+    }
+    
+    public WorkloadSpec setMeanInterArrivalTime(double meanInterArrivalTime) {
+        requirePositive(meanInterArrivalTime, "Mean inter-arrival time");
+        this.meanInterArrivalTime = meanInterArrivalTime;
+        return this;
+    }
+    
+    // Bursty arrivals: how many times faster arrivals come during a burst
+    public double getBurstFactor() {
+        return burstFactor;
+    }
+    
+    public WorkloadSpec setBurstFactor(double burstFactor) {
+        if (!(burstFactor > 1)) {
+            throw new IllegalArgumentException("Burst factor must be greater than 1");
+        }
+        this.burstFactor = burstFactor;
+        return this;
+    }
+    
+    // Bursty arrivals: mean length of a burst
+    public double getBurstPeriod() {
+        return burstPeriod;
+    }
+    
+    public WorkloadSpec setBurstPeriod(double burstPeriod) {
+        requirePositive(burstPeriod, "Burst period");
+        this.burstPeriod = burstPeriod;
+        return this;
+    }
+    
+    public WorkloadGenerator.BurstDistribution getBurstDistribution() {
+        return burstDistribution;
+    }
+    
+    public WorkloadSpec setBurstDistribution(WorkloadGenerator.BurstDistribution burstDistribution) {
+        this.burstDistribution = burstDistribution;
+        return this;
+    }
+    
+    public double getMeanBurstTime() {
+        return meanBurstTime;
+    }
+    
+    public WorkloadSpec setMeanBurstTime(double meanBurstTime) {
+        requirePositive(meanBurstTime, "Mean burst time");
+        this.meanBurstTime = meanBurstTime;
+        return this;
+    }
+    
+    public double getParetoShape() {
+        return paretoShape;
+    }
+    
+    public WorkloadSpec setParetoShape(double paretoShape) {
+        if (!(paretoShape > 1)) {
+            throw new IllegalArgumentException("Pareto shape must be greater than 1");
+        }
+        this.paretoShape = paretoShape;
+        return this;
+    }
+    
+    // Bimodal bursts: mean of the short jobs
+    public double getShortBurstTime() {
+        return shortBurstTime;
+    }
+    
+    public WorkloadSpec setShortBurstTime(double shortBurstTime) {
+        requirePositive(shortBurstTime, "Short burst time");
+        this.shortBurstTime = shortBurstTime;
+        return this;
+    }
+    
+    // Bimodal bursts: mean of the long jobs
+    public double getLongBurstTime() {
+        return longBurstTime;
+    }
+    
+    public WorkloadSpec setLongBurstTime(double longBurstTime) {
+        requirePositive(longBurstTime, "Long burst time");
+        this.longBurstTime = longBurstTime;
+        return this;
+    }
+    
+    // Bimodal bursts: share of jobs that are long
+    public double getLongJobFraction() {
+        return longJobFraction;
+    }
+    
+    public WorkloadSpec setLongJobFraction(double longJobFraction) {
+        if (!(longJobFraction >= 0 && longJobFraction <= 1)) {
+            throw new IllegalArgumentException("Long job fraction must be between 0 and 1");
+        }
+        this.longJobFraction = longJobFraction;
+        return this;
+    }
+    
+    // CPU bursts per process, with an I/O burst between each pair; 1 gives
+    // CPU-only processes
+    public int getCpuBurstsPerProcess() {
+        return cpuBurstsPerProcess;
+    }
+    
+    public WorkloadSpec setCpuBurstsPerProcess(int cpuBurstsPerProcess) {
+        if (cpuBurstsPerProcess <= 0) {
+            throw new IllegalArgumentException("CPU bursts per process must be positive");
+        }
+        this.cpuBurstsPerProcess = cpuBurstsPerProcess;
+        return this;
+    }
+    
+    // Mean of the exponentially distributed I/O bursts
+    public double getMeanIoTime() {
+        return meanIoTime;
+    }
+    
+    public WorkloadSpec setMeanIoTime(double meanIoTime) {
+        requirePositive(meanIoTime, "Mean I/O time");
+        this.meanIoTime = meanIoTime;
+        return this;
+    }
+    
+    private static void requirePositive(double value, String name) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+}